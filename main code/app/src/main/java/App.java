@@ -1,16 +1,29 @@
 import spark.Request;
+import spark.Response;
 import spark.Spark;
 import spark.servlet.SparkApplication;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import dungeonmania.DungeonManiaController;
+import dungeonmania.Game;
+import dungeonmania.GamePool;
+import dungeonmania.GameSocket;
+import dungeonmania.SessionStore;
+import dungeonmania.catalog.GameCatalog;
 import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.models.BinaryResponseEncoder;
 import dungeonmania.response.models.GenericResponseWrapper;
+import dungeonmania.response.models.ResponseAdapters;
+import dungeonmania.response.models.ResponseWriter;
 import dungeonmania.util.Direction;
+import dungeonmania.util.Viewport;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -28,7 +41,18 @@ import scintilla.Scintilla;
  *         Sienna Archer, Alvin Cherk
  */
 public class App implements SparkApplication {
-    private static volatile Map<String, DungeonManiaController> sessionStates = new HashMap<>();
+    /**
+     * Sessions kept in memory, limited by `DUNGEONMANIA_MAX_SESSIONS` and `DUNGEONMANIA_SESSION_IDLE_MINUTES`.
+     * Evicted sessions are spilled to `DUNGEONMANIA_SESSION_SPILL_DIR` if it is set, and dropped if not, as are
+     * sessions whose game has taken more than `DUNGEONMANIA_SESSION_SPILL_MAX_ACTIONS` actions.
+     */
+    private static final SessionStore SESSION_STATES = new SessionStore(
+            Integer.parseInt(getenvOrDefault("DUNGEONMANIA_MAX_SESSIONS", "1000")),
+            TimeUnit.MINUTES.toMillis(Long.parseLong(getenvOrDefault("DUNGEONMANIA_SESSION_IDLE_MINUTES", "30"))),
+            Optional.ofNullable(System.getenv("DUNGEONMANIA_SESSION_SPILL_DIR")).map(Paths::get).orElse(null),
+            Integer.parseInt(getenvOrDefault("DUNGEONMANIA_SESSION_SPILL_MAX_ACTIONS",
+                    String.valueOf(SessionStore.DEFAULT_MAX_RECORDED_ACTIONS))),
+            System::currentTimeMillis);
 
     public static void main(String[] args) throws Exception {
         new App().init();
@@ -40,20 +64,15 @@ public class App implements SparkApplication {
         }
     }
 
-    private static synchronized DungeonManiaController getDungeonManiaController(Request request) {
-        String session = request.session().id();
-        if (session == null) {
-            System.out.println("No Session Found... using default.");
-            session = "__DEFAULT_SESSION__";
-        }
+    private static String getenvOrDefault(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
 
-        if (sessionStates.containsKey(session)) {
-            return sessionStates.get(session);
-        } else {
-            DungeonManiaController bc = new DungeonManiaController();
-            sessionStates.put(session, bc);
-            return bc;
-        }
+    /** Run an action on the request's session, while no other request can act on the same session */
+    private static <T, E extends Exception> T withSession(Request request, SessionStore.SessionAction<T, E> action)
+            throws E {
+        return SESSION_STATES.withSession(request.session().id(), action);
     }
 
     private static <T> GenericResponseWrapper<T> callWithWrapper(Supplier<T> runnable) {
@@ -68,25 +87,89 @@ public class App implements SparkApplication {
     private static <T> GenericResponseWrapper<T> callUsingSessionAndArgument(Request request,
             Function<DungeonManiaController, T> runnable) {
         try {
-            DungeonManiaController dmc = getDungeonManiaController(request);
-            synchronized (dmc) {
-                return GenericResponseWrapper.ok(runnable.apply(dmc));
-            }
+            return withSession(request, dmc -> GenericResponseWrapper.ok(runnable.apply(dmc)));
         } catch (Exception e) {
             e.printStackTrace();
             return GenericResponseWrapper.err(e);
         }
     }
 
+    /**
+     * Apply an action to the session's game and stream the resulting game state straight to the response, rather
+     * than building a `DungeonResponse` and serialising it to a string first.
+     */
+    private static String streamUsingSession(Request request, Response response, Gson gson,
+            Function<DungeonManiaController, Game> action) throws IOException {
+        return streamUsingSession(request, response, gson, null, action);
+    }
+
+    /**
+     * As above, but only sending the entities within the viewport given as "x,y,width,height" (along with those
+     * goals refer to), or the whole game if `viewport` is null.
+     */
+    private static String streamUsingSession(Request request, Response response, Gson gson, String viewport,
+            Function<DungeonManiaController, Game> action) throws IOException {
+        return withSession(request, dmc -> {
+            Game game;
+            Viewport window;
+            try {
+                window = Viewport.parse(viewport);
+                game = action.apply(dmc);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return gson.toJson(GenericResponseWrapper.err(e));
+            }
+            response.type("application/json");
+            ResponseWriter.writeDungeonResponse(game, window, response.raw().getOutputStream());
+            return "";
+        });
+    }
+
+    /**
+     * Apply an action to the session's game and respond with the resulting game state as a binary frame. Errors are
+     * still reported as JSON.
+     */
+    private static String binaryUsingSession(Request request, Response response, Gson gson, String viewport,
+            Function<DungeonManiaController, Game> action) throws IOException {
+        return withSession(request, dmc -> {
+            byte[] frame;
+            try {
+                Viewport window = Viewport.parse(viewport);
+                action.apply(dmc);
+                frame = dmc.encodeBinary(window);
+            } catch (Exception e) {
+                e.printStackTrace();
+                response.type("application/json");
+                return gson.toJson(GenericResponseWrapper.err(e));
+            }
+            response.type(BinaryResponseEncoder.CONTENT_TYPE);
+            response.raw().getOutputStream().write(frame);
+            return "";
+        });
+    }
+
     @Override
     public void init() {
         Scintilla.initialize();
-        GsonBuilder gsonBuilder = new GsonBuilder();
+        // Authors can point the server at a directory of dungeons and configs, which are picked up as they're saved
+        String contentDirectory = System.getenv("DUNGEONMANIA_CONTENT_DIR");
+        if (contentDirectory != null) {
+            try {
+                GameCatalog.getInstance().watch(Paths.get(contentDirectory));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        GsonBuilder gsonBuilder = ResponseAdapters.register(new GsonBuilder());
 
         Gson gson = gsonBuilder.create();
-        Object globalLock = new Object();
 
-        Spark.after((request, response) -> {
+        // Must be registered before any routes
+        Spark.webSocket("/api/game/socket/", new GameSocket(gson, SESSION_STATES));
+
+        // Set before the route runs, as the streaming endpoints commit the response while writing it, after which
+        // no more headers can be added
+        Spark.before((request, response) -> {
             response.header("Access-Control-Allow-Origin", "*");
             response.header("Access-Control-Allow-Methods", "*");
             response.header("Access-Control-Allow-Headers", "*");
@@ -102,49 +185,56 @@ public class App implements SparkApplication {
             return null;
         });
 
+        // The catalog and pool are safe to use from any thread, so none of these lock
         Spark.get("/api/dungeons/", "application/json", (request, response) -> {
-            // we don't *need* to globally lock this but we might as well just to keep a nice standard.
-            synchronized (globalLock) {
-                return callWithWrapper(() -> DungeonManiaController.dungeons());
-            }
+            return callWithWrapper(() -> DungeonManiaController.dungeons());
         }, gson::toJson);
 
         Spark.get("/api/configs/", "application/json", (request, response) -> {
-            // we don't *need* to globally lock this but we might as well just to keep a nice standard.
-            synchronized (globalLock) {
-                return callWithWrapper(() -> DungeonManiaController.configs());
-            }
+            return callWithWrapper(() -> DungeonManiaController.configs());
         }, gson::toJson);
 
-        Spark.post("/api/game/new/", "application/json", (request, response) -> {
-            return callUsingSessionAndArgument(request,
-                    (dmc) -> dmc.newGame(request.queryParams("dungeonName"), request.queryParams("configName")));
+        Spark.post("/api/catalog/reload/", "application/json", (request, response) -> {
+            return callWithWrapper(() -> {
+                GameCatalog.getInstance().reload();
+                GamePool.getInstance().clear();
+                return DungeonManiaController.dungeons();
+            });
         }, gson::toJson);
 
+        Spark.get("/api/pool/stats/", "application/json", (request, response) -> {
+            return callWithWrapper(() -> GamePool.getInstance().getStats());
+        }, gson::toJson);
+
+        Spark.post("/api/game/new/", "application/json", (request, response) -> {
+            return streamUsingSession(request, response, gson,
+                    (dmc) -> dmc.startGame(request.queryParams("dungeonName"), request.queryParams("configName")));
+        });
+
         Spark.post("/api/game/tick/item/", "application/json", (request, response) -> {
-            return callUsingSessionAndArgument(request, (dmc) -> {
+            return streamUsingSession(request, response, gson, request.queryParams("viewport"), (dmc) -> {
                 try {
-                    return dmc.tick(request.queryParams("itemUsed"));
+                    return dmc.applyTick(request.queryParams("itemUsed"));
                 } catch (InvalidActionException e) {
                     throw new InvalidActionExceptionAPI(e.getMessage());
                 }
             });
-        }, gson::toJson);
+        });
 
         Spark.post("/api/game/tick/movement/", "application/json", (request, response) -> {
-            return callUsingSessionAndArgument(request,
-                    (dmc) -> dmc.tick(Direction.valueOf(request.queryParams("movementDirection").toUpperCase())));
-        }, gson::toJson);
+            return streamUsingSession(request, response, gson, request.queryParams("viewport"), (dmc) -> dmc
+                    .applyTick(Direction.valueOf(request.queryParams("movementDirection").toUpperCase())));
+        });
 
         Spark.post("/api/game/build/", "application/json", (request, response) -> {
-            return callUsingSessionAndArgument(request, (dmc) -> {
+            return streamUsingSession(request, response, gson, (dmc) -> {
                 try {
-                    return dmc.build(request.queryParams("buildable"));
+                    return dmc.applyBuild(request.queryParams("buildable"));
                 } catch (InvalidActionException e) {
                     throw new InvalidActionExceptionAPI(e.getMessage());
                 }
             });
-        }, gson::toJson);
+        });
 
         Spark.get("/api/skin/current/", "application/json", (request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.getSkin());
@@ -155,15 +245,110 @@ public class App implements SparkApplication {
         }, gson::toJson);
 
         Spark.post("/api/game/interact/", "application/json", (request, response) -> {
+            return streamUsingSession(request, response, gson, (dmc) -> {
+                try {
+                    return dmc.applyInteract(request.queryParams("entityId"));
+                } catch (InvalidActionException e) {
+                    throw new InvalidActionExceptionAPI(e.getMessage());
+                }
+            });
+        });
+
+        registerDeltaRoutes(gson);
+        registerBinaryRoutes(gson);
+
+        Scintilla.start();
+    }
+
+    /** Delta endpoints: the same actions as `init`'s, but responding with only what changed since the last delta */
+    private void registerDeltaRoutes(Gson gson) {
+        Spark.get("/api/game/delta/keyframe/", "application/json", (request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc.keyframe());
+        }, gson::toJson);
+
+        Spark.post("/api/game/delta/tick/item/", "application/json", (request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> {
                 try {
-                    return dmc.interact(request.queryParams("entityId"));
+                    return dmc.tickDelta(request.queryParams("itemUsed"));
                 } catch (InvalidActionException e) {
                     throw new InvalidActionExceptionAPI(e.getMessage());
                 }
             });
         }, gson::toJson);
 
-        Scintilla.start();
+        Spark.post("/api/game/delta/tick/movement/", "application/json", (request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc
+                    .tickDelta(Direction.valueOf(request.queryParams("movementDirection").toUpperCase())));
+        }, gson::toJson);
+
+        Spark.post("/api/game/delta/build/", "application/json", (request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> {
+                try {
+                    return dmc.buildDelta(request.queryParams("buildable"));
+                } catch (InvalidActionException e) {
+                    throw new InvalidActionExceptionAPI(e.getMessage());
+                }
+            });
+        }, gson::toJson);
+
+        Spark.post("/api/game/delta/interact/", "application/json", (request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> {
+                try {
+                    return dmc.interactDelta(request.queryParams("entityId"));
+                } catch (InvalidActionException e) {
+                    throw new InvalidActionExceptionAPI(e.getMessage());
+                }
+            });
+        }, gson::toJson);
+    }
+
+    /** Binary endpoints: the same actions as `init`'s, responding in the format described by BinaryResponseEncoder */
+    private void registerBinaryRoutes(Gson gson) {
+        Spark.get("/api/game/binary/keyframe/", BinaryResponseEncoder.CONTENT_TYPE, (request, response) -> {
+            return binaryUsingSession(request, response, gson, request.queryParams("viewport"), (dmc) -> {
+                dmc.requestBinaryKeyframe();
+                return null;
+            });
+        });
+
+        Spark.post("/api/game/binary/new/", BinaryResponseEncoder.CONTENT_TYPE, (request, response) -> {
+            return binaryUsingSession(request, response, gson, request.queryParams("viewport"),
+                    (dmc) -> dmc.startGame(request.queryParams("dungeonName"), request.queryParams("configName")));
+        });
+
+        Spark.post("/api/game/binary/tick/item/", BinaryResponseEncoder.CONTENT_TYPE, (request, response) -> {
+            return binaryUsingSession(request, response, gson, request.queryParams("viewport"), (dmc) -> {
+                try {
+                    return dmc.applyTick(request.queryParams("itemUsed"));
+                } catch (InvalidActionException e) {
+                    throw new InvalidActionExceptionAPI(e.getMessage());
+                }
+            });
+        });
+
+        Spark.post("/api/game/binary/tick/movement/", BinaryResponseEncoder.CONTENT_TYPE, (request, response) -> {
+            return binaryUsingSession(request, response, gson, request.queryParams("viewport"), (dmc) -> dmc
+                    .applyTick(Direction.valueOf(request.queryParams("movementDirection").toUpperCase())));
+        });
+
+        Spark.post("/api/game/binary/build/", BinaryResponseEncoder.CONTENT_TYPE, (request, response) -> {
+            return binaryUsingSession(request, response, gson, request.queryParams("viewport"), (dmc) -> {
+                try {
+                    return dmc.applyBuild(request.queryParams("buildable"));
+                } catch (InvalidActionException e) {
+                    throw new InvalidActionExceptionAPI(e.getMessage());
+                }
+            });
+        });
+
+        Spark.post("/api/game/binary/interact/", BinaryResponseEncoder.CONTENT_TYPE, (request, response) -> {
+            return binaryUsingSession(request, response, gson, request.queryParams("viewport"), (dmc) -> {
+                try {
+                    return dmc.applyInteract(request.queryParams("entityId"));
+                } catch (InvalidActionException e) {
+                    throw new InvalidActionExceptionAPI(e.getMessage());
+                }
+            });
+        });
     }
 }
@@ -0,0 +1,260 @@
+package dungeonmania;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import dungeonmania.catalog.ConfigTemplate;
+import dungeonmania.catalog.DungeonTemplate;
+import dungeonmania.catalog.GameSettings;
+import dungeonmania.entities.Entity;
+import dungeonmania.entities.EntityFactory;
+import dungeonmania.entities.Player;
+import dungeonmania.goals.GoalFactory;
+import dungeonmania.map.GameMap;
+import dungeonmania.map.MapTile;
+import dungeonmania.util.Position;
+
+/**
+ * A precompiled binary form of dungeon files, which games can be loaded from without any JSON parsing.
+ *
+ * Entities are grouped into kinds, each being a type along with its key, colour and logic. The JSON describing a kind
+ * is only looked at once per kind when loading, however many entities of that kind there are, and each entity is then
+ * just a kind and a position.
+ *
+ * <pre>
+ * file   := int MAGIC, short VERSION
+ *           u16 count, count * string                    -- string table
+ *           u16 count, count * kind
+ *           int count, count * record
+ *           byte hasGoal, [goal if hasGoal]
+ * kind   := u16 type, byte flags, [int key if flags &amp; KEY], [u16 colour if flags &amp; COLOUR],
+ *           [u16 logic if flags &amp; LOGIC]
+ * record := u16 kind, int x, int y
+ * goal   := u16 name, u16 count, count * goal             -- the goal and its subgoals
+ * string := u16 length, UTF-8 bytes
+ * </pre>
+ *
+ * Every number is big-endian, and strings are referred to by their index in the string table.
+ */
+public final class BinaryDungeon {
+    public static final String EXTENSION = ".dmb";
+    public static final int MAGIC = 0x444D4244;
+    public static final int VERSION = 1;
+
+    /** Most strings or kinds, and the longest string, which a u16 can count */
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private static final int KEY = 1;
+    private static final int COLOUR = 2;
+    private static final int LOGIC = 4;
+
+    private BinaryDungeon() {
+    }
+
+    /**
+     * Compile a dungeon to the binary format
+     * @throws IllegalArgumentException if the dungeon contains an entity which isn't recognised
+     */
+    public static byte[] compile(DungeonTemplate dungeon) {
+        // Fails on entities no game could be built from, rather than leaving it to whoever loads the file
+        EntityFactory factory = new EntityFactory(GameSettings.DEFAULTS);
+        Map<String, Integer> strings = new HashMap<>();
+        List<String> stringTable = new ArrayList<>();
+        Function<String, Integer> string = s -> strings.computeIfAbsent(s, key -> {
+            if (stringTable.size() >= MAX_COUNT || key.getBytes(StandardCharsets.UTF_8).length > MAX_COUNT)
+                throw new IllegalArgumentException("Too many strings, or too long a string, to compile");
+            stringTable.add(key);
+            return stringTable.size() - 1;
+        });
+
+        Map<String, Integer> kinds = new HashMap<>();
+        ByteArrayOutputStream kindBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream goalBytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream kindOut = new DataOutputStream(kindBytes);
+            DataOutputStream recordOut = new DataOutputStream(recordBytes);
+            for (JSONObject jsonEntity : dungeon.getEntities()) {
+                String type = jsonEntity.getString("type");
+                boolean hasKey = jsonEntity.has("key");
+                String colour = jsonEntity.optString("colour", null);
+                String logic = jsonEntity.optString("logic", null);
+                String kindName = String.join("\0", type, hasKey ? String.valueOf(jsonEntity.getInt("key")) : "",
+                        String.valueOf(colour), String.valueOf(logic));
+                Integer kind = kinds.get(kindName);
+                if (kind == null) {
+                    factory.prepareConstructor(jsonEntity);
+                    kind = kinds.size();
+                    if (kind >= MAX_COUNT)
+                        throw new IllegalArgumentException("Too many different kinds of entity to compile");
+                    kinds.put(kindName, kind);
+                    kindOut.writeShort(string.apply(type));
+                    kindOut.writeByte((hasKey ? KEY : 0) | (colour != null ? COLOUR : 0) | (logic != null ? LOGIC : 0));
+                    if (hasKey)
+                        kindOut.writeInt(jsonEntity.getInt("key"));
+                    if (colour != null)
+                        kindOut.writeShort(string.apply(colour));
+                    if (logic != null)
+                        kindOut.writeShort(string.apply(logic));
+                }
+                recordOut.writeShort(kind);
+                recordOut.writeInt(jsonEntity.getInt("x"));
+                recordOut.writeInt(jsonEntity.getInt("y"));
+            }
+
+            DataOutputStream goalOut = new DataOutputStream(goalBytes);
+            goalOut.writeByte(dungeon.getGoalCondition() != null ? 1 : 0);
+            if (dungeon.getGoalCondition() != null)
+                writeGoal(goalOut, dungeon.getGoalCondition(), string);
+
+            ByteArrayOutputStream file = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(file);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(stringTable.size());
+            for (String s : stringTable) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            out.writeShort(kinds.size());
+            kindBytes.writeTo(out);
+            out.writeInt(dungeon.getEntities().size());
+            recordBytes.writeTo(out);
+            goalBytes.writeTo(out);
+            return file.toByteArray();
+        } catch (IOException e) {
+            // Only possible for streams other than ByteArrayOutputStream
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeGoal(DataOutputStream out, JSONObject goal, Function<String, Integer> string)
+            throws IOException {
+        out.writeShort(string.apply(goal.getString("goal")));
+        JSONArray subgoals = goal.optJSONArray("subgoals");
+        int count = subgoals == null ? 0 : subgoals.length();
+        out.writeShort(count);
+        for (int i = 0; i < count; i++)
+            writeGoal(out, subgoals.getJSONObject(i), string);
+    }
+
+    /**
+     * Build and initialise a game from a compiled dungeon file, which is mapped into memory rather than read
+     * @param dungeonName Name to give the game
+     * @throws IOException if the file can't be read
+     * @throws IllegalArgumentException if the file isn't a compiled dungeon
+     */
+    public static Game load(String dungeonName, Path file, ConfigTemplate config) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return load(dungeonName, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), config);
+        }
+    }
+
+    /**
+     * Build and initialise a game from a compiled dungeon
+     * @param dungeonName Name to give the game
+     * @throws IllegalArgumentException if the buffer doesn't hold a compiled dungeon
+     */
+    public static Game load(String dungeonName, ByteBuffer in, ConfigTemplate config) {
+        try {
+            if (in.getInt() != MAGIC || in.getShort() != VERSION)
+                throw new IllegalArgumentException(String.format("%s is not a compiled dungeon", dungeonName));
+
+            String[] strings = new String[in.getShort() & 0xFFFF];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[in.getShort() & 0xFFFF];
+                in.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            Game game = new Game(dungeonName);
+            EntityFactory factory = new EntityFactory(config.getSettings());
+            game.setEntityFactory(factory);
+            GameMap map = new GameMap();
+            map.setGame(game);
+            game.setMap(map);
+
+            @SuppressWarnings("unchecked")
+            Function<Position, Entity>[] constructors = new Function[in.getShort() & 0xFFFF];
+            for (int i = 0; i < constructors.length; i++) {
+                JSONObject kind = new JSONObject().put("type", strings[in.getShort() & 0xFFFF]);
+                int flags = in.get();
+                if ((flags & KEY) != 0)
+                    kind.put("key", in.getInt());
+                if ((flags & COLOUR) != 0)
+                    kind.put("colour", strings[in.getShort() & 0xFFFF]);
+                if ((flags & LOGIC) != 0)
+                    kind.put("logic", strings[in.getShort() & 0xFFFF]);
+                constructors[i] = factory.prepareConstructor(kind);
+            }
+
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                Function<Position, Entity> constructor = constructors[in.getShort() & 0xFFFF];
+                Entity entity = factory.issueId(constructor.apply(new Position(in.getInt(), in.getInt())));
+                map.addNode(new MapTile(entity));
+                if (entity instanceof Player player)
+                    map.setPlayer(player);
+            }
+
+            if (in.get() != 0)
+                game.setGoals(GoalFactory.createGoal(readGoal(in, strings), config.getSettings()));
+            game.init();
+            return game;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(String.format("%s is not a compiled dungeon", dungeonName));
+        }
+    }
+
+    /** Goals are rebuilt as JSON for `GoalFactory`, which is cheap as there are only ever a handful */
+    private static JSONObject readGoal(ByteBuffer in, String[] strings) {
+        JSONObject goal = new JSONObject().put("goal", strings[in.getShort() & 0xFFFF]);
+        int count = in.getShort() & 0xFFFF;
+        if (count > 0) {
+            JSONArray subgoals = new JSONArray();
+            for (int i = 0; i < count; i++)
+                subgoals.put(readGoal(in, strings));
+            goal.put("subgoals", subgoals);
+        }
+        return goal;
+    }
+
+    /**
+     * Compile every dungeon file in a directory, e.g. `gradle compileDungeons`
+     * @param args The directory of dungeon files, then the directory to write compiled dungeons to
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2)
+            throw new IllegalArgumentException("Usage: BinaryDungeon <dungeon directory> <output directory>");
+        Path output = Paths.get(args[1]);
+        Files.createDirectories(output);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(args[0]), "*.json")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString().replaceFirst("\\.json$", "");
+                JSONObject dungeon = new JSONObject(Files.readString(file));
+                Files.write(output.resolve(name + EXTENSION), compile(new DungeonTemplate(name, dungeon)));
+                System.out.println("Compiled " + name);
+            }
+        }
+    }
+}
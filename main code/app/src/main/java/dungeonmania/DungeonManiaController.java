@@ -1,18 +1,33 @@
 package dungeonmania;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.json.JSONObject;
+
+import dungeonmania.catalog.GameCatalog;
 import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.models.BinaryResponseEncoder;
+import dungeonmania.response.models.DeltaResponse;
+import dungeonmania.response.models.DeltaTracker;
 import dungeonmania.response.models.DungeonResponse;
 import dungeonmania.response.models.ResponseBuilder;
 import dungeonmania.util.Direction;
-import dungeonmania.util.FileLoader;
+import dungeonmania.util.Viewport;
 
 /**
  * DO NOT CHANGE METHOD SIGNITURES OF THIS FILE
  * */
 public class DungeonManiaController {
     private Game game = null;
+    /** How to play the current game again from the start, if it is being recorded */
+    private SessionRecord record = null;
+    /** Most actions to record of each game, or 0 to record nothing */
+    private int maxRecordedActions = 0;
+    /** Only created once a client asks for delta responses */
+    private DeltaTracker deltaTracker = null;
+    /** Only created once a client asks for binary responses */
+    private BinaryResponseEncoder binaryEncoder = null;
 
     public String getSkin() {
         return "default";
@@ -26,20 +41,60 @@ public class DungeonManiaController {
      * /dungeons
      */
     public static List<String> dungeons() {
-        return FileLoader.listFileNamesInResourceDirectory("dungeons");
+        return GameCatalog.getInstance().dungeonNames();
     }
 
     /**
      * /configs
      */
     public static List<String> configs() {
-        return FileLoader.listFileNamesInResourceDirectory("configs");
+        return GameCatalog.getInstance().configNames();
     }
 
     /**
      * /game/new
      */
     public DungeonResponse newGame(String dungeonName, String configName) throws IllegalArgumentException {
+        return ResponseBuilder.getDungeonResponse(startGame(dungeonName, configName));
+    }
+
+    /**
+     * /game/tick/item
+     */
+    public DungeonResponse tick(String itemUsedId) throws IllegalArgumentException, InvalidActionException {
+        return ResponseBuilder.getDungeonResponse(applyTick(itemUsedId));
+    }
+
+    /**
+     * /game/tick/movement
+     */
+    public DungeonResponse tick(Direction movementDirection) {
+        return ResponseBuilder.getDungeonResponse(applyTick(movementDirection));
+    }
+
+    /**
+     * /game/build
+     */
+    public DungeonResponse build(String buildable) throws IllegalArgumentException, InvalidActionException {
+        return ResponseBuilder.getDungeonResponse(applyBuild(buildable));
+    }
+
+    /**
+     * /game/interact
+     */
+    public DungeonResponse interact(String entityId) throws IllegalArgumentException, InvalidActionException {
+        return ResponseBuilder.getDungeonResponse(applyInteract(entityId));
+    }
+
+    // The actions behind each endpoint, without building a response. Used by callers which render the game
+    // themselves, such as the delta and streaming endpoints.
+
+    /** Start a new game */
+    public Game startGame(String dungeonName, String configName) throws IllegalArgumentException {
+        return startGame(dungeonName, configName, ThreadLocalRandom.current().nextLong());
+    }
+
+    private Game startGame(String dungeonName, String configName, long seed) throws IllegalArgumentException {
         if (!dungeons().contains(dungeonName)) {
             throw new IllegalArgumentException(dungeonName + " is not a dungeon that exists");
         }
@@ -49,46 +104,168 @@ public class DungeonManiaController {
         }
 
         try {
-            GameBuilder builder = new GameBuilder();
-            game = builder.setConfigName(configName).setDungeonName(dungeonName).buildGame();
-            return ResponseBuilder.getDungeonResponse(game);
+            game = GamePool.getInstance().take(dungeonName, configName);
+            game.setSeed(seed);
+            record = maxRecordedActions > 0 ? new SessionRecord(dungeonName, configName, seed) : null;
+            deltaTracker = null;
+            // Kept rather than replaced, so epochs carry on counting up and frames of the last game are told apart
+            if (binaryEncoder != null)
+                binaryEncoder.requestKeyframe();
+            return game;
         } catch (Exception e) {
             e.printStackTrace();
             throw new IllegalArgumentException("Error creating new game: " + e.getMessage());
         }
     }
 
+    /** Tick the current game as a result of the player using an item */
+    public Game applyTick(String itemUsedId) throws IllegalArgumentException, InvalidActionException {
+        game.tick(itemUsedId);
+        addToRecord(SessionRecord.useItem(itemUsedId));
+        return game;
+    }
+
+    /** Tick the current game as a result of player movement */
+    public Game applyTick(Direction movementDirection) {
+        game.tick(movementDirection);
+        addToRecord(SessionRecord.move(movementDirection));
+        return game;
+    }
+
+    /** Tick the current game as a result of the player crafting an item */
+    public Game applyBuild(String buildable) throws IllegalArgumentException, InvalidActionException {
+        List<String> validBuildables = List.of("bow", "shield", "midnight_armour", "sceptre");
+        if (!validBuildables.contains(buildable)) {
+            throw new IllegalArgumentException("Only bow, shield, midnight_armour and sceptre can be built");
+        }
+
+        game.build(buildable);
+        addToRecord(SessionRecord.build(buildable));
+        return game;
+    }
+
+    /** Tick the current game as a result of the player interacting with another entity */
+    public Game applyInteract(String entityId) throws IllegalArgumentException, InvalidActionException {
+        game.interact(entityId);
+        addToRecord(SessionRecord.interact(entityId));
+        return game;
+    }
+
     /**
-     * /game/tick/item
+     * Record each game started from now on, so it can be played again by `replay`. A game which takes more than
+     * `maxActions` actions stops being recorded, and its record is dropped, so records can't grow without bound.
+     * @param maxActions Most actions to record of each game, or 0 to record nothing
      */
-    public DungeonResponse tick(String itemUsedId) throws IllegalArgumentException, InvalidActionException {
-        return ResponseBuilder.getDungeonResponse(game.tick(itemUsedId));
+    public void recordActions(int maxActions) {
+        maxRecordedActions = maxActions;
+        if (record != null && record.getActions().size() > maxActions)
+            record = null;
+    }
+
+    private void addToRecord(JSONObject action) {
+        if (record == null)
+            return;
+        if (record.getActions().size() >= maxRecordedActions)
+            record = null;
+        else
+            record.add(action);
     }
 
     /**
-     * /game/tick/movement
+     * How to play the current game again from the start, or null if no game has been started, or it isn't being
+     * recorded (see `recordActions`)
      */
-    public DungeonResponse tick(Direction movementDirection) {
-        return ResponseBuilder.getDungeonResponse(game.tick(movementDirection));
+    public SessionRecord getRecord() {
+        return record;
     }
 
     /**
-     * /game/build
+     * Play a recorded game again from the start, giving a controller in the same state the recorded one was in. The
+     * controller carries on recording the game, with no limit until `recordActions` is called again.
+     * @throws IllegalArgumentException if the game can't be started, or an action can't be replayed
+     * @throws InvalidActionException if an action isn't allowed when replayed
      */
-    public DungeonResponse build(String buildable) throws IllegalArgumentException, InvalidActionException {
-        List<String> validBuildables = List.of("bow", "shield", "midnight_armour", "sceptre");
-        if (!validBuildables.contains(buildable)) {
-            throw new IllegalArgumentException("Only bow, shield, midnight_armour and sceptre can be built");
+    public static DungeonManiaController replay(SessionRecord record) throws InvalidActionException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.recordActions(Integer.MAX_VALUE);
+        dmc.startGame(record.getDungeonName(), record.getConfigName(), record.getSeed());
+        for (JSONObject action : record.getActions()) {
+            switch (action.getString("action")) {
+            case "tick" -> {
+                if (action.has("itemUsed"))
+                    dmc.applyTick(action.getString("itemUsed"));
+                else
+                    dmc.applyTick(Direction.valueOf(action.getString("movementDirection")));
+            }
+            case "build" -> dmc.applyBuild(action.getString("buildable"));
+            case "interact" -> dmc.applyInteract(action.getString("entityId"));
+            default -> throw new IllegalArgumentException("Unknown action: " + action.getString("action"));
+            }
         }
+        return dmc;
+    }
 
-        return ResponseBuilder.getDungeonResponse(game.build(buildable));
+    /**
+     * /game/delta/keyframe
+     */
+    public DeltaResponse keyframe() {
+        getDeltaTracker().requestKeyframe();
+        return getDeltaTracker().next();
     }
 
     /**
-     * /game/interact
+     * /game/delta/tick/item
      */
-    public DungeonResponse interact(String entityId) throws IllegalArgumentException, InvalidActionException {
-        return ResponseBuilder.getDungeonResponse(game.interact(entityId));
+    public DeltaResponse tickDelta(String itemUsedId) throws IllegalArgumentException, InvalidActionException {
+        applyTick(itemUsedId);
+        return getDeltaTracker().next();
+    }
+
+    /**
+     * /game/delta/tick/movement
+     */
+    public DeltaResponse tickDelta(Direction movementDirection) {
+        applyTick(movementDirection);
+        return getDeltaTracker().next();
+    }
+
+    /**
+     * /game/delta/build
+     */
+    public DeltaResponse buildDelta(String buildable) throws IllegalArgumentException, InvalidActionException {
+        applyBuild(buildable);
+        return getDeltaTracker().next();
+    }
+
+    /**
+     * /game/delta/interact
+     */
+    public DeltaResponse interactDelta(String entityId) throws IllegalArgumentException, InvalidActionException {
+        applyInteract(entityId);
+        return getDeltaTracker().next();
+    }
+
+    /**
+     * Encode the state of the current game as the next binary frame, holding only the entities visible through
+     * `viewport` if it is given. See `BinaryResponseEncoder` for the format.
+     */
+    public byte[] encodeBinary(Viewport viewport) {
+        if (binaryEncoder == null)
+            binaryEncoder = new BinaryResponseEncoder();
+        return binaryEncoder.encode(ResponseBuilder.getDungeonResponse(game, viewport));
     }
 
+    /**
+     * /game/binary/keyframe
+     */
+    public void requestBinaryKeyframe() {
+        if (binaryEncoder != null)
+            binaryEncoder.requestKeyframe();
+    }
+
+    private DeltaTracker getDeltaTracker() {
+        if (deltaTracker == null)
+            deltaTracker = new DeltaTracker(game);
+        return deltaTracker;
+    }
 }
@@ -0,0 +1,108 @@
+package dungeonmania;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.google.gson.stream.JsonReader;
+
+import dungeonmania.catalog.ConfigTemplate;
+import dungeonmania.entities.EntityFactory;
+import dungeonmania.entities.Player;
+import dungeonmania.goals.GoalFactory;
+import dungeonmania.map.GameMap;
+import dungeonmania.map.MapTile;
+import dungeonmania.map.MapTileFactory;
+
+/**
+ * Builds a game while reading its dungeon file, for dungeons too large to parse in one go.
+ *
+ * The file is read with a pull parser, and each element of `entities` is turned into an entity as soon as it has been
+ * read, so only one entity's JSON is held at a time. The memory needed is that of the game being built, rather than
+ * the game plus the parse tree of the whole file. The `goal-condition` may come before or after the entities.
+ */
+public final class DungeonStreamLoader {
+    private DungeonStreamLoader() {
+    }
+
+    /**
+     * Build and initialise a game from the dungeon read from `in`
+     * @param dungeonName Name to give the game
+     * @param in The dungeon, in the format of the files in `resources/dungeons`
+     * @param config Configuration of the game
+     * @throws IOException if the dungeon can't be read, or isn't valid JSON
+     * @throws IllegalArgumentException if the dungeon contains an entity which isn't recognised
+     */
+    public static Game load(String dungeonName, Reader in, ConfigTemplate config) throws IOException {
+        Game game = new Game(dungeonName);
+        EntityFactory factory = new EntityFactory(config.getSettings());
+        game.setEntityFactory(factory);
+        GameMap map = new GameMap();
+        map.setGame(game);
+        game.setMap(map);
+
+        JSONObject goalCondition = null;
+        JsonReader reader = new JsonReader(in);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "entities" -> {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    MapTile tile = MapTileFactory.createEntity(readObject(reader), factory);
+                    tile.getEntities().forEach(factory::issueId);
+                    map.addNode(tile);
+                    if (tile.getEntities().get(0) instanceof Player player)
+                        map.setPlayer(player);
+                }
+                reader.endArray();
+            }
+            case "goal-condition" -> {
+                if (readValue(reader) instanceof JSONObject goal)
+                    goalCondition = goal;
+            }
+            default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (goalCondition != null)
+            game.setGoals(GoalFactory.createGoal(goalCondition, config.getSettings()));
+        game.init();
+        return game;
+    }
+
+    private static JSONObject readObject(JsonReader reader) throws IOException {
+        JSONObject object = new JSONObject();
+        reader.beginObject();
+        while (reader.hasNext())
+            object.put(reader.nextName(), readValue(reader));
+        reader.endObject();
+        return object;
+    }
+
+    /** Read the next value as the type `org.json` would have parsed it to */
+    private static Object readValue(JsonReader reader) throws IOException {
+        return switch (reader.peek()) {
+        case BEGIN_OBJECT -> readObject(reader);
+        case BEGIN_ARRAY -> {
+            JSONArray array = new JSONArray();
+            reader.beginArray();
+            while (reader.hasNext())
+                array.put(readValue(reader));
+            reader.endArray();
+            yield array;
+        }
+        case STRING -> reader.nextString();
+        case NUMBER -> JSONObject.stringToValue(reader.nextString());
+        case BOOLEAN -> reader.nextBoolean();
+        case NULL -> {
+            reader.nextNull();
+            yield JSONObject.NULL;
+        }
+        default -> throw new IOException("Unexpected " + reader.peek() + " at " + reader.getPath());
+        };
+    }
+}
@@ -2,6 +2,7 @@ package dungeonmania;
 
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.Random;
 import java.util.UUID;
 
 import dungeonmania.battles.BattleFacade;
@@ -25,6 +26,8 @@ public class Game {
     private Player player;
     private BattleFacade battleFacade;
     private EntityFactory entityFactory;
+    /** Every random choice made while playing, e.g. where enemies spawn and move */
+    private Random random = new Random();
     private boolean isInTick = false;
     public static final int PLAYER_MOVEMENT = 0;
     public static final int POTION_BRIBE_UPDATE = 1;
@@ -49,6 +52,9 @@ public class Game {
         map.init();
         this.tickCount = 0;
         player = map.getPlayer();
+        if (goals != null)
+            goals.attach(this, () -> {
+            });
         register(() -> player.onTick(tickCount), POTION_BRIBE_UPDATE, "potionQueue");
     }
 
@@ -269,6 +275,19 @@ public class Game {
         return player;
     }
 
+    /** Source of every random choice made while playing the game */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Seed the game's random choices, so that playing it again from the start with the same seed and the same
+     * actions plays out the same way
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
     public BattleFacade getBattleFacade() {
         return battleFacade;
     }
@@ -1,18 +1,13 @@
 package dungeonmania;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
-import org.json.JSONObject;
-
-import dungeonmania.entities.Entity;
-import dungeonmania.entities.EntityFactory;
-import dungeonmania.entities.Player;
-import dungeonmania.goals.Goal;
-import dungeonmania.goals.GoalFactory;
-import dungeonmania.map.GameMap;
-import dungeonmania.map.MapTile;
-import dungeonmania.map.MapTileFactory;
-import dungeonmania.util.FileLoader;
+import dungeonmania.catalog.ConfigTemplate;
+import dungeonmania.catalog.DungeonTemplate;
+import dungeonmania.catalog.GameCatalog;
 
 /**
  * GameBuilder -- A builder to build up the whole game
@@ -23,8 +18,9 @@ public class GameBuilder {
     private String configName;
     private String dungeonName;
 
-    private JSONObject config;
-    private JSONObject dungeon;
+    private ConfigTemplate config;
+    private DungeonTemplate dungeon;
+    private Path dungeonFile;
 
     /** Set the name of the configuration file to use for the game */
     public GameBuilder setConfigName(String configName) {
@@ -35,66 +31,70 @@ public class GameBuilder {
     /** Set the name of the dungeon file to use for the game */
     public GameBuilder setDungeonName(String dungeonName) {
         this.dungeonName = dungeonName;
+        this.dungeonFile = null;
         return this;
     }
 
-    public Game buildGame() throws IOException {
-        config = loadConfig();
-        dungeon = loadDungeon();
-
-        Game game = new Game(dungeonName);
-        EntityFactory factory = new EntityFactory(config);
-        game.setEntityFactory(factory);
-        buildMap(game);
-        buildGoals(game);
-        game.init();
-
-        return game;
+    /** Set the configuration to use for the game, rather than looking it up in the catalog by name */
+    public GameBuilder setConfig(ConfigTemplate config) {
+        this.config = config;
+        this.configName = config.getName();
+        return this;
     }
 
-    /** Load the configuration from the file system. */
-    private JSONObject loadConfig() throws IOException {
-        String configFile = String.format("/configs/%s.json", configName);
-        try {
-            return new JSONObject(FileLoader.loadResourceFile(configFile));
-        } catch (IOException e) {
-            throw new IOException("Failed to load config file: " + e.getMessage());
-        }
+    /** Set the dungeon to use for the game, rather than looking it up in the catalog by name */
+    public GameBuilder setDungeon(DungeonTemplate dungeon) {
+        this.dungeon = dungeon;
+        this.dungeonName = dungeon.getName();
+        this.dungeonFile = null;
+        return this;
     }
 
-    /** Load the dungeon from the file system. */
-    private JSONObject loadDungeon() throws IOException {
-        String dungeonFile = String.format("/dungeons/%s.json", dungeonName);
-        try {
-            return new JSONObject(FileLoader.loadResourceFile(dungeonFile));
-        } catch (IOException e) {
-            throw new IOException("Failed to load dungeon file: " + e.getMessage());
-        }
+    /**
+     * Set a dungeon file to load the game from, for dungeons too large to keep in the catalog. JSON files are streamed,
+     * rather than parsing the whole dungeon before building any of it, and files compiled by `BinaryDungeon` are
+     * mapped into memory. The game is named after the file, without its extension.
+     */
+    public GameBuilder setDungeonFile(Path dungeonFile) {
+        this.dungeonFile = dungeonFile;
+        this.dungeonName = dungeonFile.getFileName().toString().replaceFirst("\\.(json|dmb)$", "");
+        this.dungeon = null;
+        return this;
     }
 
-    /** Build the game map, adding every entity from the dungeon's JSON info. */
-    private void buildMap(Game game) {
-        GameMap map = new GameMap();
-        map.setGame(game);
-
-        dungeon.getJSONArray("entities").forEach(e -> {
-            JSONObject jsonEntity = (JSONObject) e;
-            MapTile newNode = MapTileFactory.createEntity(jsonEntity, game.getEntityFactory());
-            Entity entity = newNode.getEntities().get(0);
-
-            if (newNode != null)
-                map.addNode(newNode);
-
-            if (entity instanceof Player player)
-                map.setPlayer(player);
-        });
-        game.setMap(map);
+    /**
+     * Build the game. Dungeons and configs given by name are taken from the `GameCatalog`, and when both are, the game
+     * is stamped out from the catalog's prototype of the pair.
+     * @throws IllegalArgumentException if the dungeon or config doesn't exist or failed to load
+     */
+    public Game buildGame() {
+        boolean configFromCatalog = config == null || !config.getName().equals(configName);
+        if (dungeonFile != null)
+            return loadGame(configFromCatalog ? GameCatalog.getInstance().getConfig(configName) : config);
+
+        boolean dungeonFromCatalog = dungeon == null || !dungeon.getName().equals(dungeonName);
+        if (configFromCatalog && dungeonFromCatalog)
+            return GameCatalog.getInstance().getPrototype(dungeonName, configName).newGame();
+
+        if (configFromCatalog)
+            config = GameCatalog.getInstance().getConfig(configName);
+        if (dungeonFromCatalog)
+            dungeon = GameCatalog.getInstance().getDungeon(dungeonName);
+        return new GamePrototype(dungeon, config).newGame();
     }
 
-    public void buildGoals(Game game) {
-        if (!dungeon.isNull("goal-condition")) {
-            Goal goal = GoalFactory.createGoal(dungeon.getJSONObject("goal-condition"), config);
-            game.setGoals(goal);
+    private Game loadGame(ConfigTemplate config) {
+        if (dungeonFile.getFileName().toString().endsWith(BinaryDungeon.EXTENSION)) {
+            try {
+                return BinaryDungeon.load(dungeonName, dungeonFile, config);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(String.format("Failed to load dungeon file: %s", e.getMessage()));
+            }
+        }
+        try (Reader in = Files.newBufferedReader(dungeonFile)) {
+            return DungeonStreamLoader.load(dungeonName, in, config);
+        } catch (IOException | IllegalStateException e) {
+            throw new IllegalArgumentException(String.format("Failed to load dungeon file: %s", e.getMessage()));
         }
     }
 }
@@ -0,0 +1,256 @@
+package dungeonmania;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+import dungeonmania.catalog.GameCatalog;
+
+/**
+ * A pool of games which have been built ahead of time, so that starting a game in a large dungeon doesn't have to wait
+ * for it to be built.
+ *
+ * Each dungeon and config pair has its own supply of ready games. Taking a game counts as a hit if one was ready, and a
+ * miss if it had to be built there and then. Either way the pair's supply is topped up afterwards on the pool's own
+ * executor, never on the thread asking for a game.
+ *
+ * How many games are kept ready for a pair follows demand: it is the number of games started in that pair over the
+ * recent window, up to a limit per pair, so pairs nobody has played lately stop taking up memory. The total number of
+ * ready games across all pairs is limited too.
+ *
+ * When the catalog is reloaded, games built from the old prototype of a pair are thrown away rather than handed out.
+ */
+public final class GamePool {
+    public static final int DEFAULT_MAX_PER_PAIR = 4;
+    public static final int DEFAULT_MAX_TOTAL = 32;
+    public static final long DEFAULT_WINDOW_MILLIS = 60_000;
+
+    private static final GamePool INSTANCE = new GamePool(Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "game-pool-refill");
+        thread.setDaemon(true);
+        return thread;
+    }), DEFAULT_MAX_PER_PAIR, DEFAULT_MAX_TOTAL, DEFAULT_WINDOW_MILLIS, System::currentTimeMillis);
+
+    private final Executor executor;
+    private final int maxPerPair;
+    private final int maxTotal;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final BiFunction<String, String, GamePrototype> prototypes;
+
+    private final Map<List<String>, Supply> supplies = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** The ready games of one dungeon and config pair, and when games were last started in it */
+    private static final class Supply {
+        private final Deque<Game> ready = new ArrayDeque<>();
+        /** Start times of the most recent games, only as many as could count towards the target */
+        private final Deque<Long> demand = new ArrayDeque<>();
+        private GamePrototype prototype;
+        private boolean refilling = false;
+    }
+
+    /** Hit and miss counts of the pool, along with how many games are ready */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final int ready;
+
+        private Stats(long hits, long misses, int ready) {
+            this.hits = hits;
+            this.misses = misses;
+            this.ready = ready;
+        }
+
+        /** Number of games which were ready when asked for */
+        public long getHits() {
+            return hits;
+        }
+
+        /** Number of games which had to be built when asked for */
+        public long getMisses() {
+            return misses;
+        }
+
+        /** Number of games ready to be handed out, across all pairs */
+        public int getReady() {
+            return ready;
+        }
+    }
+
+    /**
+     * @param executor Runs the refills
+     * @param maxPerPair Most games kept ready for any one dungeon and config pair
+     * @param maxTotal Most games kept ready across all pairs
+     * @param windowMillis How far back demand is counted when deciding how many games to keep ready
+     * @param clock Current time, in milliseconds
+     */
+    public GamePool(Executor executor, int maxPerPair, int maxTotal, long windowMillis, LongSupplier clock) {
+        this(executor, maxPerPair, maxTotal, windowMillis, clock,
+                (dungeonName, configName) -> GameCatalog.getInstance().getPrototype(dungeonName, configName));
+    }
+
+    /**
+     * @param prototypes Current prototype of a dungeon and config pair, standing in for the catalog
+     */
+    GamePool(Executor executor, int maxPerPair, int maxTotal, long windowMillis, LongSupplier clock,
+            BiFunction<String, String, GamePrototype> prototypes) {
+        if (maxPerPair < 0 || maxTotal < 0 || windowMillis <= 0)
+            throw new IllegalArgumentException("Pool limits must not be negative, and the window must be positive");
+        this.executor = executor;
+        this.maxPerPair = maxPerPair;
+        this.maxTotal = maxTotal;
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+        this.prototypes = prototypes;
+    }
+
+    /** The pool shared by every session */
+    public static GamePool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Take a game of the given dungeon and config, building one if none is ready
+     * @throws IllegalArgumentException if the dungeon or config doesn't exist or failed to load
+     */
+    public Game take(String dungeonName, String configName) {
+        Supply supply = supplies.computeIfAbsent(List.of(dungeonName, configName), key -> new Supply());
+
+        GamePrototype prototype;
+        Game game;
+        synchronized (supply) {
+            // Read the prototype under the lock, so a take which read it before a reload can't put back the old one
+            // after a later take has already moved the pair on to the new one
+            prototype = prototypes.apply(dungeonName, configName);
+            if (supply.prototype != prototype)
+                discard(supply, prototype);
+            supply.demand.addLast(clock.getAsLong());
+            if (supply.demand.size() > maxPerPair)
+                supply.demand.pollFirst();
+            game = supply.ready.pollFirst();
+            if (game != null)
+                total.decrementAndGet();
+        }
+
+        if (game != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            game = prototype.newGame();
+        }
+        scheduleRefill(supply);
+        return game;
+    }
+
+    /** Current hit and miss counts */
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), total.get());
+    }
+
+    /** Number of games ready for the given dungeon and config */
+    public int getReady(String dungeonName, String configName) {
+        Supply supply = supplies.get(List.of(dungeonName, configName));
+        if (supply == null)
+            return 0;
+        synchronized (supply) {
+            return supply.ready.size();
+        }
+    }
+
+    /** Throw away every ready game */
+    public void clear() {
+        supplies.values().forEach(supply -> {
+            synchronized (supply) {
+                discard(supply, null);
+            }
+        });
+    }
+
+    private void scheduleRefill(Supply supply) {
+        synchronized (supply) {
+            if (supply.refilling)
+                return;
+            supply.refilling = true;
+        }
+        executor.execute(() -> refill(supply));
+    }
+
+    /** Build games for the given pair until it has as many ready as recent demand calls for */
+    private void refill(Supply supply) {
+        try {
+            while (true) {
+                boolean room = makeRoom(supply);
+                GamePrototype prototype;
+                synchronized (supply) {
+                    trim(supply);
+                    // Give up the refill while still holding the lock, so a take can't miss scheduling the next one
+                    if (!room || supply.ready.size() >= target(supply) || supply.prototype == null) {
+                        supply.refilling = false;
+                        return;
+                    }
+                    prototype = supply.prototype;
+                }
+
+                Game game = prototype.newGame();
+                synchronized (supply) {
+                    // The catalog may have been reloaded while this game was being built
+                    if (supply.prototype == prototype) {
+                        supply.ready.addLast(game);
+                        total.incrementAndGet();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (supply) {
+                supply.refilling = false;
+            }
+            throw e;
+        }
+    }
+
+    /** Return whether there is room for another ready game, dropping games kept for pairs which have gone quiet */
+    private boolean makeRoom(Supply supply) {
+        if (total.get() < maxTotal)
+            return true;
+        supplies.values().stream().filter(other -> other != supply).forEach(other -> {
+            synchronized (other) {
+                trim(other);
+            }
+        });
+        return total.get() < maxTotal;
+    }
+
+    /** Drop the given pair's ready games beyond the number it should keep */
+    private void trim(Supply supply) {
+        int target = target(supply);
+        while (supply.ready.size() > target) {
+            supply.ready.pollLast();
+            total.decrementAndGet();
+        }
+    }
+
+    /** Number of games to keep ready for the given pair, forgetting demand from before the window */
+    private int target(Supply supply) {
+        long since = clock.getAsLong() - windowMillis;
+        while (!supply.demand.isEmpty() && supply.demand.peekFirst() < since)
+            supply.demand.pollFirst();
+        return Math.min(maxPerPair, supply.demand.size());
+    }
+
+    private void discard(Supply supply, GamePrototype prototype) {
+        total.addAndGet(-supply.ready.size());
+        supply.ready.clear();
+        supply.prototype = prototype;
+    }
+}
@@ -0,0 +1,79 @@
+package dungeonmania;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.json.JSONObject;
+
+import dungeonmania.catalog.ConfigTemplate;
+import dungeonmania.catalog.DungeonTemplate;
+import dungeonmania.catalog.GameSettings;
+import dungeonmania.entities.EntityFactory;
+import dungeonmania.entities.Player;
+import dungeonmania.goals.GoalFactory;
+import dungeonmania.map.GameMap;
+import dungeonmania.map.MapTile;
+import dungeonmania.map.MapTileFactory;
+
+/**
+ * A dungeon and config pair, prepared so that new games can be stamped out from it quickly.
+ *
+ * Preparing the prototype reads every entity's JSON once, checking its type and looking up the config values it needs.
+ * Each call to `newGame` then constructs fresh entities from what was prepared, so the games share nothing that can
+ * change: every game has its own entities, issued IDs by its own factory. The new game is initialised the same way as
+ * any other, which pairs its portals, subscribes its bombs to switches, registers its tick callbacks and attaches its
+ * goals.
+ *
+ * Prototypes are immutable once prepared, and may be used from any thread.
+ */
+public final class GamePrototype {
+    private final String name;
+    private final GameSettings settings;
+    private final JSONObject goalCondition;
+    private final List<Supplier<MapTile>> tiles;
+
+    /**
+     * @throws IllegalArgumentException if the dungeon contains an entity which isn't recognised
+     */
+    public GamePrototype(DungeonTemplate dungeon, ConfigTemplate config) {
+        this.name = dungeon.getName();
+        this.settings = config.getSettings();
+        this.goalCondition = dungeon.getGoalCondition();
+        EntityFactory factory = new EntityFactory(settings);
+        List<Supplier<MapTile>> tileList = new ArrayList<>(dungeon.getEntities().size());
+        for (JSONObject jsonEntity : dungeon.getEntities())
+            tileList.add(MapTileFactory.prepareTile(jsonEntity, factory));
+        this.tiles = List.copyOf(tileList);
+    }
+
+    /** Name of the dungeon games are built from */
+    public String getName() {
+        return name;
+    }
+
+    /** Build and initialise a new game */
+    public Game newGame() {
+        Game game = new Game(name);
+        game.setEntityFactory(new EntityFactory(settings));
+        game.setMap(buildMap(game));
+        if (goalCondition != null)
+            game.setGoals(GoalFactory.createGoal(goalCondition, settings));
+        game.init();
+        return game;
+    }
+
+    private GameMap buildMap(Game game) {
+        GameMap map = new GameMap();
+        map.setGame(game);
+        EntityFactory factory = game.getEntityFactory();
+        for (Supplier<MapTile> prepared : tiles) {
+            MapTile tile = prepared.get();
+            tile.getEntities().forEach(factory::issueId);
+            map.addNode(tile);
+            if (tile.getEntities().get(0) instanceof Player player)
+                map.setPlayer(player);
+        }
+        return map;
+    }
+}
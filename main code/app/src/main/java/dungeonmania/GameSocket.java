@@ -0,0 +1,152 @@
+package dungeonmania;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpSession;
+
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.json.JSONObject;
+
+import com.google.gson.Gson;
+
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.models.GenericResponseWrapper;
+import dungeonmania.util.Direction;
+
+/**
+ * A WebSocket channel onto a session's game.
+ *
+ * Clients send actions as JSON text messages, and the result of each action is pushed back as soon as it has been
+ * applied, wrapped in a `GenericResponseWrapper` just like the HTTP endpoints. Results are full `DungeonResponse`s,
+ * or `DeltaResponse`s if the client connected with `?format=delta`.
+ *
+ * <pre>
+ * { "action": "new", "dungeonName": "...", "configName": "..." }
+ * { "action": "tick", "movementDirection": "up" }
+ * { "action": "tick", "itemUsed": "..." }
+ * { "action": "build", "buildable": "..." }
+ * { "action": "interact", "entityId": "..." }
+ * { "action": "keyframe" }
+ * </pre>
+ *
+ * The connection shares the game of the HTTP session it was opened from, so a client can mix the two. A connection
+ * opened without an HTTP session gets a session of its own, which is dropped when the connection closes.
+ */
+@WebSocket
+public class GameSocket {
+    private final Gson gson;
+    private final SessionStore sessions;
+    private final Map<Session, Connection> connections = new ConcurrentHashMap<>();
+
+    /** State kept for each open connection */
+    private static final class Connection {
+        /** The session's ID, rather than its controller, which may be evicted while the connection is open */
+        private final String sessionId;
+        /** Whether the session belongs to this connection alone, rather than an HTTP session */
+        private final boolean own;
+        private final boolean delta;
+
+        private Connection(String sessionId, boolean own, boolean delta) {
+            this.sessionId = sessionId;
+            this.own = own;
+            this.delta = delta;
+        }
+    }
+
+    /**
+     * @param gson Used to serialise results
+     * @param sessions The controller of each HTTP session
+     */
+    public GameSocket(Gson gson, SessionStore sessions) {
+        this.gson = gson;
+        this.sessions = sessions;
+    }
+
+    @OnWebSocketConnect
+    public void onConnect(Session session) {
+        Object httpSession = session.getUpgradeRequest().getSession();
+        List<String> format = session.getUpgradeRequest().getParameterMap().get("format");
+        connections.put(session, new Connection(sessionId(httpSession), !(httpSession instanceof HttpSession),
+                format != null && format.contains("delta")));
+    }
+
+    /**
+     * ID of the session a connection acts on: that of the HTTP session it was opened from, or if there is none, a
+     * new session of its own, so connections without a session never share a game
+     */
+    static String sessionId(Object httpSession) {
+        if (httpSession instanceof HttpSession http)
+            return http.getId();
+        // HTTP session IDs never contain a colon, so these can't collide with them
+        return "socket:" + UUID.randomUUID();
+    }
+
+    @OnWebSocketClose
+    public void onClose(Session session, int statusCode, String reason) {
+        Connection connection = connections.remove(session);
+        if (connection != null && connection.own)
+            sessions.discard(connection.sessionId);
+    }
+
+    @OnWebSocketMessage
+    public void onMessage(Session session, String message) throws IOException {
+        Connection connection = connections.get(session);
+        if (connection == null)
+            return;
+        GenericResponseWrapper<Object> result = sessions.withSession(connection.sessionId,
+                dmc -> handle(dmc, connection.delta, message));
+        session.getRemote().sendString(gson.toJson(result));
+    }
+
+    /**
+     * Apply the action in `message` to the given controller's game, returning the wrapped result. Like every other
+     * action on a session, this must run inside `SessionStore.withSession`, which is what keeps actions in order.
+     */
+    static GenericResponseWrapper<Object> handle(DungeonManiaController dmc, boolean delta, String message) {
+        try {
+            return GenericResponseWrapper.ok(apply(dmc, delta, new JSONObject(message)));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return GenericResponseWrapper.err(e);
+        }
+    }
+
+    private static Object apply(DungeonManiaController dmc, boolean delta, JSONObject message)
+            throws InvalidActionException {
+        String action = message.getString("action");
+        return switch (action) {
+        case "new" -> {
+            if (!delta)
+                yield dmc.newGame(message.getString("dungeonName"), message.getString("configName"));
+            dmc.startGame(message.getString("dungeonName"), message.getString("configName"));
+            yield dmc.keyframe();
+        }
+        case "tick" -> {
+            if (message.has("itemUsed")) {
+                String itemUsed = message.getString("itemUsed");
+                yield delta ? dmc.tickDelta(itemUsed) : dmc.tick(itemUsed);
+            }
+            Direction direction = Direction.valueOf(message.getString("movementDirection").toUpperCase());
+            yield delta ? dmc.tickDelta(direction) : dmc.tick(direction);
+        }
+        case "build" -> delta ? dmc.buildDelta(message.getString("buildable"))
+                : dmc.build(message.getString("buildable"));
+        case "interact" -> delta ? dmc.interactDelta(message.getString("entityId"))
+                : dmc.interact(message.getString("entityId"));
+        case "keyframe" -> {
+            if (!delta)
+                throw new IllegalArgumentException("Keyframes are only sent to delta connections");
+            yield dmc.keyframe();
+        }
+        default -> throw new IllegalArgumentException("Unknown action: " + action);
+        };
+    }
+}
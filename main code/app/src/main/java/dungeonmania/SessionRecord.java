@@ -0,0 +1,91 @@
+package dungeonmania;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import dungeonmania.util.Direction;
+
+/**
+ * Everything needed to play a session's game again from the start: the dungeon and config it was started with, the
+ * seed of its random choices, and every action taken in it since.
+ *
+ * Games issue the same IDs to their entities each time they are played from the start (see `EntityFactory.issueId`),
+ * so actions refer to entities by ID, and the IDs a client was given are still valid once the game is replayed.
+ * Actions are in the same format as the messages of `GameSocket`, e.g. `{"action": "build", "buildable": "bow"}`.
+ */
+public final class SessionRecord {
+    private final String dungeonName;
+    private final String configName;
+    private final long seed;
+    private final List<JSONObject> actions = new ArrayList<>();
+
+    public SessionRecord(String dungeonName, String configName, long seed) {
+        this.dungeonName = dungeonName;
+        this.configName = configName;
+        this.seed = seed;
+    }
+
+    public String getDungeonName() {
+        return dungeonName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Every action taken, oldest first */
+    public List<JSONObject> getActions() {
+        return Collections.unmodifiableList(actions);
+    }
+
+    public void add(JSONObject action) {
+        actions.add(action);
+    }
+
+    /** The action of the player moving */
+    public static JSONObject move(Direction direction) {
+        return new JSONObject().put("action", "tick").put("movementDirection", direction.name());
+    }
+
+    /** The action of the player using the item with the given ID */
+    public static JSONObject useItem(String itemId) {
+        return new JSONObject().put("action", "tick").put("itemUsed", itemId);
+    }
+
+    /** The action of the player building the given item */
+    public static JSONObject build(String buildable) {
+        return new JSONObject().put("action", "build").put("buildable", buildable);
+    }
+
+    /** The action of the player interacting with the entity with the given ID */
+    public static JSONObject interact(String entityId) {
+        return new JSONObject().put("action", "interact").put("entityId", entityId);
+    }
+
+    public JSONObject toJson() {
+        JSONArray actionArray = new JSONArray();
+        actions.forEach(actionArray::put);
+        return new JSONObject().put("dungeonName", dungeonName).put("configName", configName).put("seed", seed)
+                .put("actions", actionArray);
+    }
+
+    /**
+     * @throws org.json.JSONException if the JSON isn't a record
+     */
+    public static SessionRecord fromJson(JSONObject json) {
+        SessionRecord record = new SessionRecord(json.getString("dungeonName"), json.getString("configName"),
+                json.getLong("seed"));
+        JSONArray actionArray = json.getJSONArray("actions");
+        for (int i = 0; i < actionArray.length(); i++)
+            record.add(actionArray.getJSONObject(i));
+        return record;
+    }
+}
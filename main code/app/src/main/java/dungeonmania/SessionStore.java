@@ -0,0 +1,255 @@
+package dungeonmania;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import dungeonmania.exceptions.InvalidActionException;
+
+/**
+ * The controller of each session, with a limit on how many are kept in memory.
+ *
+ * Looking up a session never waits on other sessions: sessions are kept in a concurrent map, and a session which isn't
+ * there is added atomically as an empty placeholder, so concurrent first requests of a session share one session.
+ * Actions are run by `withSession` while holding the session's lock, so actions of the same session run one at a
+ * time, and actions of different sessions run in parallel. The first action on a placeholder creates its controller,
+ * or restores it from disk, under the same lock, so a slow restore only holds up requests of that session.
+ *
+ * When there are too many sessions, or every so often, one lookup sweeps the store while the others carry on. The
+ * sweep evicts sessions which have been idle for too long, and the least recently used sessions while there are too
+ * many. It evicts a tenth more than it needs to, so a full store isn't swept on every new session.
+ *
+ * If given a directory to spill to, each session's game is recorded, an evicted session's `SessionRecord` is written
+ * there, and the next time the session is looked up its game is restored by replaying it. Games are only recorded up
+ * to a limit on their actions, past which they can't be spilled. Otherwise the session starts again with no game.
+ */
+public final class SessionStore {
+    /** Used for requests with no session */
+    public static final String DEFAULT_SESSION = "__DEFAULT_SESSION__";
+    /** Most actions recorded of each game by default */
+    public static final int DEFAULT_MAX_RECORDED_ACTIONS = 10000;
+
+    private final int maxSessions;
+    private final long idleMillis;
+    private final Path spillDirectory;
+    private final int maxRecordedActions;
+    private final LongSupplier clock;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    /** Orders sessions by when they were last used, as the clock may not tick between uses */
+    private final AtomicLong uses = new AtomicLong();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile long nextSweep;
+
+    /** A session, whose lock is held while acting on it */
+    private static final class Session {
+        /** Null until the first action on the session, which creates or restores it while holding the lock */
+        private DungeonManiaController controller = null;
+        /** When the session was last looked up, in milliseconds from the store's clock */
+        private volatile long lastUsedMillis;
+        /** Position of the last lookup among all lookups in the store, which orders sessions by use */
+        private volatile long useSequence;
+        /** Set, while holding the lock, once the session has been evicted */
+        private boolean evicted = false;
+    }
+
+    /** A session as it was when a sweep began, as sessions in use keep changing while they're being sorted */
+    private static final class Candidate {
+        private final String sessionId;
+        private final Session session;
+        private final long lastUsedMillis;
+        private final long useSequence;
+
+        private Candidate(String sessionId, Session session) {
+            this.sessionId = sessionId;
+            this.session = session;
+            this.lastUsedMillis = session.lastUsedMillis;
+            this.useSequence = session.useSequence;
+        }
+    }
+
+    /** An action run on a session's controller */
+    @FunctionalInterface
+    public interface SessionAction<T, E extends Exception> {
+        T apply(DungeonManiaController dmc) throws E;
+    }
+
+    /**
+     * @param maxSessions Most sessions to keep in memory
+     * @param idleMillis How long a session can go unused before it is evicted
+     * @param spillDirectory Where to write evicted sessions, or null to drop them
+     * @param clock Current time in milliseconds, e.g. `System::currentTimeMillis`
+     */
+    public SessionStore(int maxSessions, long idleMillis, Path spillDirectory, LongSupplier clock) {
+        this(maxSessions, idleMillis, spillDirectory, DEFAULT_MAX_RECORDED_ACTIONS, clock);
+    }
+
+    /**
+     * @param maxRecordedActions Most actions of a game to record for spilling; longer games are dropped when evicted
+     */
+    public SessionStore(int maxSessions, long idleMillis, Path spillDirectory, int maxRecordedActions,
+            LongSupplier clock) {
+        if (maxSessions < 1)
+            throw new IllegalArgumentException("A session store must be able to hold at least one session");
+        this.maxSessions = maxSessions;
+        this.idleMillis = idleMillis;
+        this.spillDirectory = spillDirectory;
+        this.maxRecordedActions = maxRecordedActions;
+        this.clock = clock;
+    }
+
+    /**
+     * Run an action on the controller of the given session, restoring or creating the session if it isn't in memory.
+     * No other action runs on the same session at the same time.
+     * @param sessionId ID of the session, or null for the default session
+     */
+    public <T, E extends Exception> T withSession(String sessionId, SessionAction<T, E> action) throws E {
+        String id = sessionId != null ? sessionId : DEFAULT_SESSION;
+        while (true) {
+            Session session = lookup(id);
+            synchronized (session) {
+                // Evicted between being looked up and locked; looking it up again restores it
+                if (session.evicted)
+                    continue;
+                if (session.controller == null)
+                    session.controller = restore(id);
+                return action.apply(session.controller);
+            }
+        }
+    }
+
+    /**
+     * Return the controller of the given session, restoring or creating it if it isn't in memory. Unlike
+     * `withSession`, nothing stops the session being evicted while the controller is in use, so this is only for
+     * tests to look at a session.
+     */
+    DungeonManiaController get(String sessionId) {
+        return withSession(sessionId, dmc -> dmc);
+    }
+
+    /** Drop a session which will never be used again, from memory and from disk */
+    public void discard(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            synchronized (session) {
+                session.evicted = true;
+                sessions.remove(sessionId, session);
+            }
+        }
+        if (spillDirectory != null) {
+            try {
+                Files.deleteIfExists(spillFile(sessionId));
+            } catch (IOException e) {
+                System.err.println("Failed to discard session " + sessionId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /** Number of sessions in memory */
+    public int size() {
+        return sessions.size();
+    }
+
+    private Session lookup(String sessionId) {
+        long now = clock.getAsLong();
+        // Only the placeholder is created inside the map operation, which blocks others on the same part of the map
+        Session session = sessions.computeIfAbsent(sessionId, id -> new Session());
+        session.lastUsedMillis = now;
+        session.useSequence = uses.incrementAndGet();
+        if (sessions.size() > maxSessions || now >= nextSweep)
+            sweep(now);
+        return session;
+    }
+
+    private void sweep(long now) {
+        // Only one lookup sweeps at a time, and the others don't wait for it
+        if (!sweeping.compareAndSet(false, true))
+            return;
+        try {
+            nextSweep = now + Math.max(1, idleMillis / 10);
+            List<Candidate> eldestFirst = new ArrayList<>(sessions.size());
+            sessions.forEach((id, session) -> eldestFirst.add(new Candidate(id, session)));
+            eldestFirst.sort(Comparator.comparingLong(candidate -> candidate.useSequence));
+            int excess = eldestFirst.size() > maxSessions ? eldestFirst.size() - (maxSessions - maxSessions / 10) : 0;
+            for (Candidate candidate : eldestFirst) {
+                boolean idle = now - candidate.lastUsedMillis >= idleMillis;
+                if (!idle && excess <= 0)
+                    break;
+                if (evict(candidate))
+                    excess--;
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /** Evict a session unless it has been used since the sweep began */
+    private boolean evict(Candidate candidate) {
+        Session session = candidate.session;
+        synchronized (session) {
+            if (session.useSequence != candidate.useSequence)
+                return false;
+            // Spilled before it is removed, so a lookup in between finds the session in memory rather than missing
+            // it on disk, then waits for this lock and looks it up again. A placeholder which was never used has
+            // nothing to spill, and anything spilled for it before is still on disk.
+            if (session.controller != null)
+                spill(candidate.sessionId, session.controller);
+            session.evicted = true;
+            sessions.remove(candidate.sessionId, session);
+            return true;
+        }
+    }
+
+    private Path spillFile(String sessionId) {
+        // Session IDs can hold characters which aren't allowed in file names
+        byte[] id = sessionId.getBytes(StandardCharsets.UTF_8);
+        return spillDirectory.resolve(Base64.getUrlEncoder().withoutPadding().encodeToString(id) + ".json");
+    }
+
+    private void spill(String sessionId, DungeonManiaController controller) {
+        SessionRecord record = controller.getRecord();
+        if (spillDirectory == null || record == null)
+            return;
+        try {
+            Files.createDirectories(spillDirectory);
+            Files.writeString(spillFile(sessionId), record.toJson().toString());
+        } catch (IOException e) {
+            System.err.println("Failed to spill session " + sessionId + ": " + e.getMessage());
+        }
+    }
+
+    private DungeonManiaController restore(String sessionId) {
+        // Games are only recorded if they can be spilled
+        if (spillDirectory == null)
+            return new DungeonManiaController();
+        DungeonManiaController dmc;
+        Path file = spillFile(sessionId);
+        try {
+            String json = Files.readString(file);
+            Files.delete(file);
+            dmc = DungeonManiaController.replay(SessionRecord.fromJson(new JSONObject(json)));
+        } catch (NoSuchFileException e) {
+            dmc = new DungeonManiaController();
+        } catch (IOException | JSONException | IllegalArgumentException | InvalidActionException e) {
+            // e.g. the dungeon has changed since; the session starts again rather than failing every request
+            System.err.println("Failed to restore session " + sessionId + ": " + e.getMessage());
+            dmc = new DungeonManiaController();
+        }
+        dmc.recordActions(maxRecordedActions);
+        return dmc;
+    }
+}
@@ -46,17 +46,13 @@ public class BattleFacade {
             }
         }
 
-        List<Mercenary> mercs = game.getMap().getEntities(Mercenary.class);
-        for (Mercenary merc : mercs) {
-            if (!merc.isAllied())
-                continue;
-            playerBuff = BattleStatistics.applyBuff(playerBuff, merc.getBattleStatistics());
-        }
+        List<BattleStatistics> allyBuffs = game.getMap().getEntities(Mercenary.class).stream()
+                .filter(Mercenary::isAllied).map(Mercenary::getBattleStatistics).collect(Collectors.toList());
 
         // 2. Battle the two stats
         BattleStatistics playerBaseStatistics = player.getBattleStatistics();
         BattleStatistics enemyBaseStatistics = enemy.getBattleStatistics();
-        BattleStatistics playerBattleStatistics = BattleStatistics.applyBuff(playerBaseStatistics, playerBuff);
+        BattleStatistics playerBattleStatistics = buffPlayer(playerBaseStatistics, playerBuff, allyBuffs);
         BattleStatistics enemyBattleStatistics = enemyBaseStatistics;
         if (!playerBattleStatistics.isBattleEnabled() || !enemyBaseStatistics.isBattleEnabled())
             return;
@@ -75,6 +71,20 @@ public class BattleFacade {
                 initialPlayerHealth, initialEnemyHealth));
     }
 
+    /**
+     * Apply the player's item buff and the support of each ally to the player's base statistics.
+     *
+     * This is the same calculation used for a real battle, exposed so that battles can be simulated without a game.
+     */
+    public static BattleStatistics buffPlayer(BattleStatistics base, BattleStatistics itemBuff,
+            List<BattleStatistics> allyBuffs) {
+        BattleStatistics buff = itemBuff;
+        for (BattleStatistics allyBuff : allyBuffs) {
+            buff = BattleStatistics.applyBuff(buff, allyBuff);
+        }
+        return BattleStatistics.applyBuff(base, buff);
+    }
+
     /** Return the battle log, displayed to the player */
     public List<BattleResponse> getBattleResponses() {
         return battleResponses;
@@ -0,0 +1,101 @@
+package dungeonmania.battles.balance;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The results of a balance sweep, formatted as plain-text tables.
+ */
+public final class BalanceReport {
+    private static final int COLUMN_WIDTH = 18;
+
+    private final List<BalanceResult> results;
+    private final List<Loadout> loadouts;
+    private final List<String> enemies;
+    private final long elapsedMillis;
+
+    public BalanceReport(List<BalanceResult> results, List<Loadout> loadouts, List<String> enemies,
+            long elapsedMillis) {
+        this.results = results;
+        this.loadouts = loadouts;
+        this.enemies = enemies;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<BalanceResult> getResults() {
+        return results;
+    }
+
+    /** Wall-clock time the sweep took to run */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** Return the result for the given config values and loadout, or `null` if that point was not simulated */
+    public BalanceResult getResult(Map<String, Double> settings, String loadout) {
+        return results.stream().filter(r -> r.getSettings().equals(settings))
+                .filter(r -> r.getLoadout().getName().equals(loadout)).findFirst().orElse(null);
+    }
+
+    /** One row per set of config values, one column per loadout */
+    public String winRateTable() {
+        Map<String, List<BalanceResult>> rows = groupBySettings();
+        StringBuilder builder = new StringBuilder();
+        builder.append(pad("config"));
+        loadouts.forEach(l -> builder.append(pad(l.getName())));
+        builder.append("\n");
+        rows.forEach((settings, row) -> {
+            builder.append(pad(settings));
+            row.forEach(r -> builder.append(pad(String.format("%.1f%%", 100 * r.getWinRate()))));
+            builder.append("\n");
+        });
+        return builder.toString();
+    }
+
+    /** One row per set of config values and loadout, one column per enemy type */
+    public String roundsToKillTable() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(pad("config")).append(pad("loadout"));
+        enemies.forEach(e -> builder.append(pad(e)));
+        builder.append("\n");
+        results.forEach(r -> {
+            builder.append(pad(describe(r.getSettings()))).append(pad(r.getLoadout().getName()));
+            enemies.forEach(e -> {
+                double rounds = r.getMeanRoundsToKill(e);
+                builder.append(pad(Double.isNaN(rounds) ? "-" : String.format("%.2f", rounds)));
+            });
+            builder.append("\n");
+        });
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Simulated %d configurations in %d ms%n%nWin rate%n%s%nRounds to kill%n%s",
+                results.size(), elapsedMillis, winRateTable(), roundsToKillTable());
+    }
+
+    private Map<String, List<BalanceResult>> groupBySettings() {
+        Map<String, List<BalanceResult>> rows = new LinkedHashMap<>();
+        results.forEach(r -> rows.computeIfAbsent(describe(r.getSettings()), k -> new ArrayList<>()).add(r));
+        return rows;
+    }
+
+    private static String describe(Map<String, Double> settings) {
+        if (settings.isEmpty())
+            return "base";
+        return settings.entrySet().stream().map(e -> e.getKey() + "=" + format(e.getValue()))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static String pad(String cell) {
+        return String.format("%-" + Math.max(COLUMN_WIDTH, cell.length() + 2) + "s", cell);
+    }
+}
@@ -0,0 +1,70 @@
+package dungeonmania.battles.balance;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of simulating one point of the balance grid: a particular set of config values and a player loadout.
+ */
+public final class BalanceResult {
+    private final Map<String, Double> settings;
+    private final Loadout loadout;
+    private final List<String> enemies;
+    private final int trials;
+    private final int wins;
+    private final int stalemates;
+    /** Number of battles won against each enemy type, indexed like `enemies` */
+    private final int[] kills;
+    /** Total rounds taken by the won battles against each enemy type, indexed like `enemies` */
+    private final long[] killRounds;
+
+    public BalanceResult(Map<String, Double> settings, Loadout loadout, List<String> enemies, int trials, int wins,
+            int stalemates, int[] kills, long[] killRounds) {
+        this.settings = settings;
+        this.loadout = loadout;
+        this.enemies = enemies;
+        this.trials = trials;
+        this.wins = wins;
+        this.stalemates = stalemates;
+        this.kills = kills;
+        this.killRounds = killRounds;
+    }
+
+    /** Config values that were overridden for this point of the grid */
+    public Map<String, Double> getSettings() {
+        return settings;
+    }
+
+    public Loadout getLoadout() {
+        return loadout;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    /** Number of trials in which the player survived every encounter */
+    public int getWins() {
+        return wins;
+    }
+
+    /** Number of trials that ended in a battle neither side could ever win */
+    public int getStalemates() {
+        return stalemates;
+    }
+
+    /** Fraction of trials in which the player survived every encounter */
+    public double getWinRate() {
+        return trials == 0 ? 0 : (double) wins / trials;
+    }
+
+    /**
+     * Mean number of rounds the player needed to defeat the given enemy type, or `NaN` if they never defeated one.
+     */
+    public double getMeanRoundsToKill(String enemy) {
+        int i = enemies.indexOf(enemy);
+        if (i < 0 || kills[i] == 0)
+            return Double.NaN;
+        return (double) killRounds[i] / kills[i];
+    }
+}
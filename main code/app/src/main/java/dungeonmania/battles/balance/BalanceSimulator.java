@@ -0,0 +1,242 @@
+package dungeonmania.battles.balance;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.json.JSONObject;
+
+import dungeonmania.battles.BattleFacade;
+import dungeonmania.battles.BattleRound;
+import dungeonmania.battles.BattleStatistics;
+import dungeonmania.entities.EntityFactory;
+import dungeonmania.entities.inventory.InventoryItem;
+import dungeonmania.util.FileLoader;
+import dungeonmania.util.Position;
+
+/**
+ * Headless Monte Carlo balance tool for tuning config values.
+ *
+ * Sweeps every combination of the given config values against every loadout. For each combination the player fights
+ * a run of randomly chosen enemies, carrying their health and item durability from one battle to the next exactly as
+ * `BattleFacade` would, and the simulator records how often they survive the whole run and how many rounds each kill
+ * took. Stats are built through `EntityFactory` so config defaults match the real game, but no `Game` or `GameMap` is
+ * ever created. Combinations are simulated in parallel on all available cores.
+ *
+ * Usage: `BalanceSimulator <config> [key=v1,v2,...]... [--loadout=sword+shield]... [--enemies=spider,mercenary]
+ * [--trials=N] [--encounters=N] [--seed=N]`
+ */
+public class BalanceSimulator {
+    public static final int DEFAULT_TRIALS = 1000;
+    public static final int DEFAULT_ENCOUNTERS = 3;
+    public static final List<String> DEFAULT_ENEMIES = List.of("spider", "zombie_toast", "mercenary");
+
+    private final JSONObject baseConfig;
+    private Map<String, List<Double>> sweep = new LinkedHashMap<>();
+    private List<Loadout> loadouts = Loadout.defaults();
+    private List<String> enemies = DEFAULT_ENEMIES;
+    private int trials = DEFAULT_TRIALS;
+    private int encounters = DEFAULT_ENCOUNTERS;
+    private long seed = 0;
+
+    public BalanceSimulator(JSONObject baseConfig) {
+        this.baseConfig = baseConfig;
+    }
+
+    /** Add a config key to sweep over the given values */
+    public BalanceSimulator sweep(String key, List<Double> values) {
+        sweep.put(key, values);
+        return this;
+    }
+
+    /** Set the loadouts to compare */
+    public BalanceSimulator setLoadouts(List<Loadout> loadouts) {
+        this.loadouts = loadouts;
+        return this;
+    }
+
+    /** Set the enemy types the player can encounter (each equally likely) */
+    public BalanceSimulator setEnemies(List<String> enemies) {
+        this.enemies = enemies;
+        return this;
+    }
+
+    /** Set the number of runs simulated per combination */
+    public BalanceSimulator setTrials(int trials) {
+        this.trials = trials;
+        return this;
+    }
+
+    /** Set the number of consecutive battles in each run */
+    public BalanceSimulator setEncounters(int encounters) {
+        this.encounters = encounters;
+        return this;
+    }
+
+    /** Set the random seed. Results are reproducible for a given seed regardless of thread scheduling. */
+    public BalanceSimulator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /** Simulate every combination of config values and loadouts */
+    public BalanceReport run() {
+        long start = System.currentTimeMillis();
+        String config = baseConfig.toString();
+        List<String> keys = new ArrayList<>(sweep.keySet());
+        int points = sweep.values().stream().mapToInt(List::size).reduce(1, (a, b) -> a * b);
+
+        int width = loadouts.size();
+        List<BalanceResult> results = IntStream.range(0, points * width).parallel()
+                .mapToObj(i -> simulate(config, settingsAt(keys, i / width), loadouts.get(i % width), seed + i))
+                .collect(Collectors.toList());
+
+        return new BalanceReport(results, loadouts, enemies, System.currentTimeMillis() - start);
+    }
+
+    /** Decode the `point`th combination of swept values */
+    private Map<String, Double> settingsAt(List<String> keys, int point) {
+        int[] choice = new int[keys.size()];
+        for (int k = keys.size() - 1; k >= 0; k--) {
+            int size = sweep.get(keys.get(k)).size();
+            choice[k] = point % size;
+            point /= size;
+        }
+        Map<String, Double> settings = new LinkedHashMap<>();
+        for (int k = 0; k < keys.size(); k++)
+            settings.put(keys.get(k), sweep.get(keys.get(k)).get(choice[k]));
+        return settings;
+    }
+
+    private BalanceResult simulate(String baseConfigJson, Map<String, Double> settings, Loadout loadout,
+            long cellSeed) {
+        JSONObject config = new JSONObject(baseConfigJson);
+        settings.forEach((key, value) -> {
+            if (value == Math.rint(value))
+                config.put(key, value.intValue());
+            else
+                config.put(key, value.doubleValue());
+        });
+
+        EntityFactory factory = new EntityFactory(config);
+        Position origin = new Position(0, 0);
+        BattleStatistics playerStats = factory.buildPlayer(origin).getBattleStatistics();
+        List<BattleStatistics> enemyStats = enemies.stream().map(e -> buildEnemy(factory, e, origin)).toList();
+
+        List<InventoryItem> items = new ArrayList<>();
+        if (loadout.hasSword())
+            items.add(factory.buildSword(origin));
+        if (loadout.hasBow())
+            items.add(factory.buildBow());
+        if (loadout.hasShield())
+            items.add(factory.buildShield());
+        int[] initialDurability = items.stream().mapToInt(InventoryItem::getDurability).toArray();
+
+        List<BattleStatistics> allyBuffs = new ArrayList<>();
+        for (int i = 0; i < loadout.getAllies(); i++)
+            allyBuffs.add(factory.buildMercenary(origin).getAllyBattleStatistics());
+
+        SplittableRandom random = new SplittableRandom(cellSeed);
+        int wins = 0;
+        int stalemates = 0;
+        int[] kills = new int[enemies.size()];
+        long[] killRounds = new long[enemies.size()];
+
+        for (int trial = 0; trial < trials; trial++) {
+            double health = playerStats.getHealth();
+            int[] durability = initialDurability.clone();
+            boolean survived = true;
+            for (int encounter = 0; encounter < encounters && survived; encounter++) {
+                int e = random.nextInt(enemyStats.size());
+
+                BattleStatistics itemBuff = new BattleStatistics(0, 0, 0, 1, 1);
+                for (int i = 0; i < items.size(); i++) {
+                    if (durability[i] <= 0)
+                        continue;
+                    itemBuff = items.get(i).applyBuff(itemBuff);
+                    durability[i]--;
+                }
+
+                BattleStatistics self = BattleFacade.buffPlayer(withHealth(playerStats, health), itemBuff, allyBuffs);
+                BattleStatistics target = withHealth(enemyStats.get(e), enemyStats.get(e).getHealth());
+                if (isStalemate(self, target)) {
+                    stalemates++;
+                    survived = false;
+                    break;
+                }
+
+                List<BattleRound> rounds = BattleStatistics.battle(self, target);
+                health = self.getHealth();
+                if (health <= 0) {
+                    survived = false;
+                } else {
+                    kills[e]++;
+                    killRounds[e] += rounds.size();
+                }
+            }
+            if (survived)
+                wins++;
+        }
+
+        return new BalanceResult(settings, loadout, enemies, trials, wins, stalemates, kills, killRounds);
+    }
+
+    private static BattleStatistics buildEnemy(EntityFactory factory, String enemy, Position position) {
+        return switch (enemy) {
+        case "spider" -> factory.buildSpider(position).getBattleStatistics();
+        case "zombie_toast" -> factory.buildZombieToast(position).getBattleStatistics();
+        case "mercenary" -> factory.buildMercenary(position).getBattleStatistics();
+        default -> throw new IllegalArgumentException("Unknown enemy type: " + enemy);
+        };
+    }
+
+    private static BattleStatistics withHealth(BattleStatistics stats, double health) {
+        return new BattleStatistics(health, stats.getAttack(), stats.getDefence(), stats.getMagnifier(),
+                stats.getReducer(), stats.isInvincible(), stats.isBattleEnabled());
+    }
+
+    /** Whether neither side can ever damage the other, in which case `BattleStatistics.battle` would never end */
+    private static boolean isStalemate(BattleStatistics self, BattleStatistics target) {
+        if (self.isInvincible() ^ target.isInvincible())
+            return false;
+        double damageOnSelf = target.getMagnifier() * (target.getAttack() - self.getDefence()) / self.getReducer();
+        double damageOnTarget = self.getMagnifier() * (self.getAttack() - target.getDefence()) / target.getReducer();
+        return damageOnSelf <= 0 && damageOnTarget <= 0;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BalanceSimulator <config> [key=v1,v2,...]... [--loadout=sword+shield]... "
+                    + "[--enemies=spider,mercenary] [--trials=N] [--encounters=N] [--seed=N]");
+            return;
+        }
+
+        JSONObject config = new JSONObject(FileLoader.loadResourceFile(String.format("/configs/%s.json", args[0])));
+        BalanceSimulator simulator = new BalanceSimulator(config);
+        List<Loadout> loadouts = new ArrayList<>();
+
+        for (int i = 1; i < args.length; i++) {
+            String[] arg = args[i].split("=", 2);
+            if (arg.length != 2)
+                throw new IllegalArgumentException("Expected key=value but got: " + args[i]);
+            switch (arg[0]) {
+            case "--loadout" -> loadouts.add(Loadout.parse(arg[1]));
+            case "--enemies" -> simulator.setEnemies(List.of(arg[1].split(",")));
+            case "--trials" -> simulator.setTrials(Integer.parseInt(arg[1]));
+            case "--encounters" -> simulator.setEncounters(Integer.parseInt(arg[1]));
+            case "--seed" -> simulator.setSeed(Long.parseLong(arg[1]));
+            default -> simulator.sweep(arg[0],
+                    List.of(arg[1].split(",")).stream().map(Double::parseDouble).collect(Collectors.toList()));
+            }
+        }
+        if (!loadouts.isEmpty())
+            simulator.setLoadouts(loadouts);
+
+        System.out.println(simulator.run());
+    }
+}
@@ -0,0 +1,79 @@
+package dungeonmania.battles.balance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The equipment a simulated player takes into battle: which weapons and armour they carry and how many bribed
+ * mercenaries fight alongside them.
+ *
+ * Loadouts are written as `+` separated item names, e.g. "sword+shield+ally+ally". "none" is the empty loadout.
+ */
+public final class Loadout {
+    private final String name;
+    private final boolean sword;
+    private final boolean bow;
+    private final boolean shield;
+    private final int allies;
+
+    public Loadout(String name, boolean sword, boolean bow, boolean shield, int allies) {
+        this.name = name;
+        this.sword = sword;
+        this.bow = bow;
+        this.shield = shield;
+        this.allies = allies;
+    }
+
+    /**
+     * Parse a loadout from its `+` separated form
+     * @throws IllegalArgumentException if an item name is not recognised
+     */
+    public static Loadout parse(String loadout) {
+        boolean sword = false;
+        boolean bow = false;
+        boolean shield = false;
+        int allies = 0;
+        for (String item : loadout.split("\\+")) {
+            switch (item.trim()) {
+            case "none" -> {
+            }
+            case "sword" -> sword = true;
+            case "bow" -> bow = true;
+            case "shield" -> shield = true;
+            case "ally" -> allies++;
+            default -> throw new IllegalArgumentException("Unknown loadout item: " + item);
+            }
+        }
+        return new Loadout(loadout, sword, bow, shield, allies);
+    }
+
+    /** The loadouts swept when none are given explicitly */
+    public static List<Loadout> defaults() {
+        List<Loadout> loadouts = new ArrayList<>();
+        for (String loadout : List.of("none", "sword", "bow", "shield", "sword+shield", "sword+bow+shield", "ally",
+                "sword+shield+ally")) {
+            loadouts.add(parse(loadout));
+        }
+        return loadouts;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean hasSword() {
+        return sword;
+    }
+
+    public boolean hasBow() {
+        return bow;
+    }
+
+    public boolean hasShield() {
+        return shield;
+    }
+
+    public int getAllies() {
+        return allies;
+    }
+}
@@ -0,0 +1,69 @@
+package dungeonmania.catalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import dungeonmania.util.FileLoader;
+
+/**
+ * Where the catalog reads its files from: `dungeons` and `configs` directories of JSON files, named without their
+ * extension.
+ */
+interface CatalogSource {
+    /** The dungeons and configs packaged with the game, found through the resource index */
+    CatalogSource CLASSPATH = new CatalogSource() {
+        @Override
+        public List<String> list(String directory) {
+            return FileLoader.listFileNamesInResourceDirectory(directory);
+        }
+
+        @Override
+        public String read(String directory, String name) throws IOException {
+            return FileLoader.loadResourceFile(String.format("/%s/%s.json", directory, name));
+        }
+    };
+
+    /**
+     * Names of every file in the given directory
+     * @throws UncheckedIOException if the directory can't be listed
+     */
+    List<String> list(String directory);
+
+    /**
+     * Contents of the given file
+     * @throws java.nio.file.NoSuchFileException if there is no such file
+     */
+    String read(String directory, String name) throws IOException;
+
+    /** Files in the `dungeons` and `configs` directories under `root` on the filesystem */
+    static CatalogSource directory(Path root) {
+        return new CatalogSource() {
+            @Override
+            public List<String> list(String directory) {
+                List<String> names = new ArrayList<>();
+                Path path = root.resolve(directory);
+                if (!Files.isDirectory(path))
+                    return names;
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(path, "*.json")) {
+                    for (Path file : files) {
+                        String fileName = file.getFileName().toString();
+                        names.add(fileName.substring(0, fileName.length() - ".json".length()));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return names;
+            }
+
+            @Override
+            public String read(String directory, String name) throws IOException {
+                return Files.readString(root.resolve(directory).resolve(name + ".json"));
+            }
+        };
+    }
+}
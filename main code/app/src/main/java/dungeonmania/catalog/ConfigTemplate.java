@@ -0,0 +1,38 @@
+package dungeonmania.catalog;
+
+import org.json.JSONObject;
+
+/**
+ * A parsed config file, shared by every game built from it.
+ *
+ * The JSON object handed out is shared too, so it must only ever be read. Games are built from the config's
+ * `GameSettings`, which are read from the JSON once here.
+ */
+public final class ConfigTemplate {
+    private final String name;
+    private final JSONObject config;
+    private final GameSettings settings;
+
+    /**
+     * @param name Name of the config, e.g. "simple"
+     * @param config The config, in the format of the files in `resources/configs`
+     * @throws IllegalArgumentException if a setting in the config is invalid
+     */
+    public ConfigTemplate(String name, JSONObject config) {
+        this.name = name;
+        this.config = config;
+        this.settings = GameSettings.fromJson(config);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public JSONObject getJson() {
+        return config;
+    }
+
+    public GameSettings getSettings() {
+        return settings;
+    }
+}
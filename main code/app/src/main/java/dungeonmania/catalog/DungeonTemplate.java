@@ -0,0 +1,47 @@
+package dungeonmania.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * A parsed dungeon file, shared by every game built from it.
+ *
+ * The JSON objects handed out are shared too, so they must only ever be read.
+ */
+public final class DungeonTemplate {
+    private final String name;
+    private final List<JSONObject> entities;
+    private final JSONObject goalCondition;
+
+    /**
+     * @param name Name of the dungeon, e.g. "maze"
+     * @param dungeon The dungeon, in the format of the files in `resources/dungeons`
+     */
+    public DungeonTemplate(String name, JSONObject dungeon) {
+        this.name = name;
+        JSONArray jsonEntities = dungeon.getJSONArray("entities");
+        List<JSONObject> entityList = new ArrayList<>(jsonEntities.length());
+        for (int i = 0; i < jsonEntities.length(); i++)
+            entityList.add(jsonEntities.getJSONObject(i));
+        this.entities = Collections.unmodifiableList(entityList);
+        this.goalCondition = dungeon.isNull("goal-condition") ? null : dungeon.getJSONObject("goal-condition");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** The entities in the dungeon, in the order they were written */
+    public List<JSONObject> getEntities() {
+        return entities;
+    }
+
+    /** The dungeon's goal, or `null` if it has none */
+    public JSONObject getGoalCondition() {
+        return goalCondition;
+    }
+}
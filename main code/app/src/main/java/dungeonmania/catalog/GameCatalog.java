@@ -0,0 +1,329 @@
+package dungeonmania.catalog;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import dungeonmania.GamePrototype;
+
+/**
+ * The dungeons and configs games can be built from.
+ *
+ * The first time the catalog is used it finds every dungeon and config resource, and parses each into a template.
+ * After that, listing and building games never touches the classpath again until `reload` is called. A file which
+ * fails to parse is still listed, and asking for it reports the error. Each dungeon and config pair is also prepared
+ * into a `GamePrototype` the first time a game is built from it.
+ *
+ * The catalog is shared by the whole process and safe to use from any thread. A reload swaps in the new contents all
+ * at once, so readers see either the old or the new catalog, never a mixture.
+ *
+ * While authoring content the catalog can instead `watch` a directory on the filesystem. Only the files which change
+ * are parsed again, and only the prototypes of the dungeons and configs which changed are dropped, so every other
+ * pair keeps its prototype (and the games pooled from it).
+ */
+public final class GameCatalog {
+    private static final GameCatalog INSTANCE = new GameCatalog();
+
+    private static final String DUNGEONS = "dungeons";
+    private static final String CONFIGS = "configs";
+    /** How long the watcher waits for a burst of changes to end, as editors tend to write a file in several steps */
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    private volatile Contents contents;
+    private CatalogSource source = CatalogSource.CLASSPATH;
+    private WatchService watcher;
+
+    /** An immutable snapshot of the catalog */
+    private static final class Contents {
+        private final Entries<DungeonTemplate> dungeons;
+        private final Entries<ConfigTemplate> configs;
+        /** Prototypes by dungeon and config name, prepared as they are first asked for */
+        private final Map<List<String>, GamePrototype> prototypes = new ConcurrentHashMap<>();
+
+        private Contents(Entries<DungeonTemplate> dungeons, Entries<ConfigTemplate> configs) {
+            this.dungeons = dungeons;
+            this.configs = configs;
+        }
+    }
+
+    /** Templates of one kind by name, along with the errors of any which failed to load */
+    private static final class Entries<T> {
+        private final List<String> names;
+        private final Map<String, T> templates;
+        private final Map<String, String> errors;
+
+        private Entries(List<String> names, Map<String, T> templates, Map<String, String> errors) {
+            this.names = Collections.unmodifiableList(names);
+            this.templates = templates;
+            this.errors = errors;
+        }
+
+        /** A copy of these entries with the given file parsed again, or removed if it no longer exists */
+        private Entries<T> refresh(CatalogSource source, String directory, String name,
+                BiFunction<String, JSONObject, T> parse) {
+            Set<String> updatedNames = new TreeSet<>(names);
+            Map<String, T> updatedTemplates = new HashMap<>(templates);
+            Map<String, String> updatedErrors = new HashMap<>(errors);
+            updatedTemplates.remove(name);
+            updatedErrors.remove(name);
+            if (GameCatalog.parse(source, directory, name, parse, updatedTemplates, updatedErrors))
+                updatedNames.add(name);
+            else
+                updatedNames.remove(name);
+            return new Entries<>(new ArrayList<>(updatedNames), updatedTemplates, updatedErrors);
+        }
+
+        private T get(String kind, String name) {
+            T template = templates.get(name);
+            if (template != null)
+                return template;
+            String error = errors.get(name);
+            if (error != null)
+                throw new IllegalArgumentException(String.format("Failed to load %s file: %s", kind, error));
+            throw new IllegalArgumentException(String.format("%s is not a %s that exists", name, kind));
+        }
+    }
+
+    private GameCatalog() {
+    }
+
+    public static GameCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    /** Names of every dungeon, in alphabetical order */
+    public List<String> dungeonNames() {
+        return contents().dungeons.names;
+    }
+
+    /** Names of every config, in alphabetical order */
+    public List<String> configNames() {
+        return contents().configs.names;
+    }
+
+    /**
+     * Return the template of the given dungeon
+     * @throws IllegalArgumentException if there is no such dungeon, or it failed to load
+     */
+    public DungeonTemplate getDungeon(String name) {
+        return contents().dungeons.get("dungeon", name);
+    }
+
+    /**
+     * Return the template of the given config
+     * @throws IllegalArgumentException if there is no such config, or it failed to load
+     */
+    public ConfigTemplate getConfig(String name) {
+        return contents().configs.get("config", name);
+    }
+
+    /**
+     * Return the prototype of games played in the given dungeon with the given config
+     * @throws IllegalArgumentException if there is no such dungeon or config, or either failed to load
+     */
+    public GamePrototype getPrototype(String dungeonName, String configName) {
+        Contents current = contents();
+        return current.prototypes.computeIfAbsent(List.of(dungeonName, configName), key -> new GamePrototype(
+                current.dungeons.get("dungeon", dungeonName), current.configs.get("config", configName)));
+    }
+
+    /**
+     * Find and parse every dungeon and config again, picking up any which have been added or changed. Prototypes are
+     * prepared again as they are next asked for.
+     */
+    public synchronized void reload() {
+        contents = new Contents(load(source, DUNGEONS, DungeonTemplate::new),
+                load(source, CONFIGS, ConfigTemplate::new));
+    }
+
+    /**
+     * Load the catalog from the `dungeons` and `configs` directories under `root` instead of the classpath, and keep
+     * it up to date as files there are added, changed or removed. The directories are created if they don't exist.
+     * @throws IOException if the directories can't be created or watched
+     */
+    public synchronized void watch(Path root) throws IOException {
+        unwatch();
+        WatchService service = root.getFileSystem().newWatchService();
+        try {
+            // Registered before loading, so nothing changed while loading is missed
+            for (String directory : List.of(DUNGEONS, CONFIGS))
+                Files.createDirectories(root.resolve(directory)).register(service, ENTRY_CREATE, ENTRY_MODIFY,
+                        ENTRY_DELETE);
+        } catch (IOException e) {
+            service.close();
+            throw e;
+        }
+        watcher = service;
+        source = CatalogSource.directory(root);
+        reload();
+
+        Thread thread = new Thread(() -> watchLoop(service), "catalog-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Stop watching the directory given to `watch`, and load the catalog from the classpath again */
+    public synchronized void unwatch() {
+        if (watcher == null)
+            return;
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            // Nothing more can be done with it either way
+        }
+        watcher = null;
+        source = CatalogSource.CLASSPATH;
+        reload();
+    }
+
+    /**
+     * Parse a single dungeon or config file again, or remove it if it no longer exists. Prototypes of the pairs
+     * which use it are prepared again as they are next asked for, and the prototypes of every other pair are kept.
+     * @param directory Either `dungeons` or `configs`
+     */
+    synchronized void refresh(String directory, String name) {
+        Contents current = contents();
+        Contents updated;
+        int stale;
+        switch (directory) {
+        case DUNGEONS -> {
+            updated = new Contents(current.dungeons.refresh(source, directory, name, DungeonTemplate::new),
+                    current.configs);
+            stale = 0;
+        }
+        case CONFIGS -> {
+            updated = new Contents(current.dungeons,
+                    current.configs.refresh(source, directory, name, ConfigTemplate::new));
+            stale = 1;
+        }
+        default -> throw new IllegalArgumentException(String.format("%s is not a catalog directory", directory));
+        }
+        current.prototypes.forEach((key, prototype) -> {
+            if (!key.get(stale).equals(name))
+                updated.prototypes.put(key, prototype);
+        });
+        contents = updated;
+    }
+
+    private void watchLoop(WatchService service) {
+        try {
+            while (true) {
+                Set<List<String>> changed = new LinkedHashSet<>();
+                boolean overflowed = false;
+                for (WatchKey key = service.take(); key != null;
+                        key = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW)
+                            overflowed = true;
+                        else if (event.context() instanceof Path file)
+                            changedFile((Path) key.watchable(), file).ifPresent(changed::add);
+                    }
+                    key.reset();
+                }
+                apply(service, changed, overflowed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped by `unwatch`
+        }
+    }
+
+    /**
+     * The directory and name of the catalog file a watch event is about, if it is about one
+     * @param directory The watched directory the event came from
+     * @param file The file the event is about, relative to `directory`
+     */
+    static Optional<List<String>> changedFile(Path directory, Path file) {
+        String fileName = file.toString();
+        if (!fileName.endsWith(".json"))
+            return Optional.empty();
+        return Optional.of(List.of(directory.getFileName().toString(), fileName.replaceFirst("\\.json$", "")));
+    }
+
+    private synchronized void apply(WatchService service, Set<List<String>> changed, boolean overflowed) {
+        // Changes which arrive after `unwatch` or another `watch` belong to a directory no longer being read from
+        if (watcher == service)
+            apply(changed, overflowed);
+    }
+
+    /**
+     * Bring the catalog up to date with a burst of changes seen by the watcher
+     * @param changed The directory and name of each file changed, as given by `changedFile`
+     * @param overflowed Whether the watcher lost track of some changes, so everything must be loaded again
+     */
+    synchronized void apply(Set<List<String>> changed, boolean overflowed) {
+        try {
+            if (overflowed) {
+                // Events were lost, so there's no telling what changed
+                reload();
+                return;
+            }
+            for (List<String> file : changed)
+                refresh(file.get(0), file.get(1));
+        } catch (RuntimeException e) {
+            // e.g. a directory was removed; the old contents stay until the next change
+            System.err.println("Failed to refresh the catalog: " + e.getMessage());
+        }
+    }
+
+    private Contents contents() {
+        Contents current = contents;
+        if (current == null) {
+            synchronized (this) {
+                if (contents == null)
+                    reload();
+                current = contents;
+            }
+        }
+        return current;
+    }
+
+    private static <T> Entries<T> load(CatalogSource source, String directory,
+            BiFunction<String, JSONObject, T> parse) {
+        List<String> names = new ArrayList<>(new TreeSet<>(source.list(directory)));
+        Map<String, T> templates = new HashMap<>();
+        Map<String, String> errors = new HashMap<>();
+        names.removeIf(name -> !parse(source, directory, name, parse, templates, errors));
+        return new Entries<>(names, templates, errors);
+    }
+
+    /**
+     * Parse a file into `templates`, or record why it couldn't be into `errors`
+     * @return false if there is no such file
+     */
+    private static <T> boolean parse(CatalogSource source, String directory, String name,
+            BiFunction<String, JSONObject, T> parse, Map<String, T> templates, Map<String, String> errors) {
+        try {
+            templates.put(name, parse.apply(name, new JSONObject(source.read(directory, name))));
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException | JSONException | IllegalArgumentException e) {
+            errors.put(name, e.getMessage());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,208 @@
+package dungeonmania.catalog;
+
+import org.json.JSONObject;
+
+import dungeonmania.entities.Player;
+import dungeonmania.entities.collectables.Bomb;
+import dungeonmania.entities.collectables.Sword;
+import dungeonmania.entities.collectables.potions.InvincibilityPotion;
+import dungeonmania.entities.collectables.potions.InvisibilityPotion;
+import dungeonmania.entities.enemies.Mercenary;
+import dungeonmania.entities.enemies.Spider;
+import dungeonmania.entities.enemies.ZombieToast;
+import dungeonmania.entities.enemies.ZombieToastSpawner;
+
+/**
+ * The settings of a config file, read and checked once when the config is loaded.
+ *
+ * Every setting the game uses is a field, with the game's default filled in for any the file leaves out, so nothing
+ * looks up JSON by key while a game is being played. Settings are immutable, and shared by every game built from the
+ * config. Keys the game doesn't use are ignored.
+ */
+public final class GameSettings {
+    /** The settings of a config which sets nothing, so every default applies */
+    public static final GameSettings DEFAULTS = new GameSettings(new JSONObject());
+
+    private final double playerHealth;
+    private final double playerAttack;
+    private final double spiderHealth;
+    private final double spiderAttack;
+    private final int spiderSpawnInterval;
+    private final double zombieHealth;
+    private final double zombieAttack;
+    private final int zombieSpawnInterval;
+    private final double mercenaryHealth;
+    private final double mercenaryAttack;
+    private final double allyAttack;
+    private final double allyDefence;
+    private final int bribeAmount;
+    private final int bribeRadius;
+    private final int bowDurability;
+    private final int shieldDurability;
+    private final double shieldDefence;
+    private final double swordAttack;
+    private final int swordDurability;
+    private final int bombRadius;
+    private final int invisibilityPotionDuration;
+    private final int invincibilityPotionDuration;
+    private final int treasureGoal;
+
+    private GameSettings(JSONObject config) {
+        playerHealth = positive(config, "player_health", Player.DEFAULT_HEALTH);
+        playerAttack = readDouble(config, "player_attack", Player.DEFAULT_ATTACK);
+        spiderHealth = positive(config, "spider_health", Spider.DEFAULT_HEALTH);
+        spiderAttack = readDouble(config, "spider_attack", Spider.DEFAULT_ATTACK);
+        spiderSpawnInterval = readInt(config, "spider_spawn_interval", 0);
+        zombieHealth = positive(config, "zombie_health", ZombieToast.DEFAULT_HEALTH);
+        zombieAttack = readDouble(config, "zombie_attack", ZombieToast.DEFAULT_ATTACK);
+        zombieSpawnInterval = readInt(config, "zombie_spawn_interval", ZombieToastSpawner.DEFAULT_SPAWN_INTERVAL);
+        mercenaryHealth = positive(config, "mercenary_health", Mercenary.DEFAULT_HEALTH);
+        mercenaryAttack = readDouble(config, "mercenary_attack", Mercenary.DEFAULT_ATTACK);
+        allyAttack = readDouble(config, "ally_attack", Mercenary.DEFAULT_HEALTH);
+        allyDefence = readDouble(config, "ally_defence", Mercenary.DEFAULT_ATTACK);
+        bribeAmount = readInt(config, "bribe_amount", Mercenary.DEFAULT_BRIBE_AMOUNT);
+        bribeRadius = readInt(config, "bribe_radius", Mercenary.DEFAULT_BRIBE_RADIUS);
+        bowDurability = readInt(config, "bow_durability", 0);
+        shieldDurability = readInt(config, "shield_durability", 0);
+        shieldDefence = readInt(config, "shield_defence", 0);
+        swordAttack = readDouble(config, "sword_attack", Sword.DEFAULT_ATTACK);
+        swordDurability = readInt(config, "sword_durability", Sword.DEFAULT_DURABILITY);
+        bombRadius = readInt(config, "bomb_radius", Bomb.DEFAULT_RADIUS);
+        invisibilityPotionDuration = readInt(config, "invisibility_potion_duration",
+                InvisibilityPotion.DEFAULT_DURATION);
+        invincibilityPotionDuration = readInt(config, "invincibility_potion_duration",
+                InvincibilityPotion.DEFAULT_DURATION);
+        treasureGoal = readInt(config, "treasure_goal", 1);
+    }
+
+    /**
+     * Read the settings of a config
+     * @param config The config, in the format of the files in `resources/configs`
+     * @throws IllegalArgumentException if a setting isn't a number, is negative, or is a health which isn't positive
+     */
+    public static GameSettings fromJson(JSONObject config) {
+        return new GameSettings(config);
+    }
+
+    private static Number read(JSONObject config, String key) {
+        Object value = config.opt(key);
+        if (value != null && !(value instanceof Number))
+            throw new IllegalArgumentException(String.format("Config setting %s must be a number", key));
+        Number number = (Number) value;
+        if (number != null && number.doubleValue() < 0)
+            throw new IllegalArgumentException(String.format("Config setting %s must not be negative", key));
+        return number;
+    }
+
+    private static int readInt(JSONObject config, String key, int fallback) {
+        Number number = read(config, key);
+        return number == null ? fallback : number.intValue();
+    }
+
+    private static double readDouble(JSONObject config, String key, double fallback) {
+        Number number = read(config, key);
+        return number == null ? fallback : number.doubleValue();
+    }
+
+    private static double positive(JSONObject config, String key, double fallback) {
+        double value = readDouble(config, key, fallback);
+        if (value <= 0)
+            throw new IllegalArgumentException(String.format("Config setting %s must be positive", key));
+        return value;
+    }
+
+    public double getPlayerHealth() {
+        return playerHealth;
+    }
+
+    public double getPlayerAttack() {
+        return playerAttack;
+    }
+
+    public double getSpiderHealth() {
+        return spiderHealth;
+    }
+
+    public double getSpiderAttack() {
+        return spiderAttack;
+    }
+
+    /** Spiders spawn every this many ticks, or never if 0 */
+    public int getSpiderSpawnInterval() {
+        return spiderSpawnInterval;
+    }
+
+    public double getZombieHealth() {
+        return zombieHealth;
+    }
+
+    public double getZombieAttack() {
+        return zombieAttack;
+    }
+
+    /** Each spawner spawns a zombie toast every this many ticks, or never if 0 */
+    public int getZombieSpawnInterval() {
+        return zombieSpawnInterval;
+    }
+
+    public double getMercenaryHealth() {
+        return mercenaryHealth;
+    }
+
+    public double getMercenaryAttack() {
+        return mercenaryAttack;
+    }
+
+    public double getAllyAttack() {
+        return allyAttack;
+    }
+
+    public double getAllyDefence() {
+        return allyDefence;
+    }
+
+    public int getBribeAmount() {
+        return bribeAmount;
+    }
+
+    public int getBribeRadius() {
+        return bribeRadius;
+    }
+
+    public int getBowDurability() {
+        return bowDurability;
+    }
+
+    public int getShieldDurability() {
+        return shieldDurability;
+    }
+
+    public double getShieldDefence() {
+        return shieldDefence;
+    }
+
+    public double getSwordAttack() {
+        return swordAttack;
+    }
+
+    public int getSwordDurability() {
+        return swordDurability;
+    }
+
+    public int getBombRadius() {
+        return bombRadius;
+    }
+
+    public int getInvisibilityPotionDuration() {
+        return invisibilityPotionDuration;
+    }
+
+    public int getInvincibilityPotionDuration() {
+        return invincibilityPotionDuration;
+    }
+
+    /** How many treasures a treasure goal asks for */
+    public int getTreasureGoal() {
+        return treasureGoal;
+    }
+}
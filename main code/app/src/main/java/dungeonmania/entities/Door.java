@@ -34,7 +34,7 @@ public class Door extends Entity {
 
         if (hasKey(player)) {
             inventory.remove(key);
-            open();
+            open(map);
         }
     }
 
@@ -50,8 +50,9 @@ public class Door extends Entity {
         return open;
     }
 
-    public void open() {
+    public void open(GameMap map) {
         open = true;
+        map.notifyChanged(this);
     }
 
     @Override
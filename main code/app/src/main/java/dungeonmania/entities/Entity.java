@@ -1,10 +1,12 @@
 package dungeonmania.entities;
 
 import dungeonmania.map.GameMap;
+import dungeonmania.response.models.EntityResponse;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Entity: the base type for "things" within the game. Everything is an entity, from the player to the monsters to the
@@ -35,18 +37,37 @@ public abstract class Entity {
      * Set to `null` initially. Use `setFacing` to update.
      */
     private Direction facing;
-    /** Unique ID of the entity (as a UUID) */
+    /** Unique ID of the entity: a random UUID, until its game issues it one (see `EntityFactory.issueId`) */
     private String entityId;
+    /**
+     * Response last built for this entity, reused by `ResponseBuilder` while it is still accurate.
+     *
+     * Cleared whenever the entity moves.
+     */
+    private EntityResponse response;
 
     /** Construct an entity at the given position */
     public Entity(Position position) {
         this.position = position;
         this.previousPosition = position;
         this.previousDistinctPosition = null;
-        this.entityId = UUID.randomUUID().toString();
+        this.entityId = newId();
         this.facing = null;
     }
 
+    /**
+     * Generate a new random (version 4) UUID for an entity.
+     *
+     * Entity IDs only need to be unique, not unguessable, so this uses the fast thread-local generator rather than the
+     * secure one behind `UUID.randomUUID`, which was a large part of the cost of building a game.
+     */
+    private static String newId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificant = (random.nextLong() >>> 2) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+
     /**
      * Given the current game map and another entity, return whether `that` entity can move onto `this` entity.
      *
@@ -92,6 +113,10 @@ public abstract class Entity {
         return entityId;
     }
 
+    void setId(String entityId) {
+        this.entityId = entityId;
+    }
+
     /**
      * Update the position of this entity.
      *
@@ -101,11 +126,22 @@ public abstract class Entity {
     public void setPosition(Position position) {
         previousPosition = this.position;
         this.position = position;
+        response = null;
         if (!previousPosition.equals(this.position)) {
             previousDistinctPosition = previousPosition;
         }
     }
 
+    /** Response last built for this entity, or `null` if it has moved since */
+    public EntityResponse getCachedResponse() {
+        return response;
+    }
+
+    /** Remember the response built for this entity */
+    public void setCachedResponse(EntityResponse response) {
+        this.response = response;
+    }
+
     /** Update the facing direction for this entity. */
     public void setFacing(Direction facing) {
         this.facing = facing;
@@ -1,7 +1,9 @@
 package dungeonmania.entities;
 
 import dungeonmania.Game;
+import dungeonmania.catalog.GameSettings;
 import dungeonmania.entities.buildables.Bow;
+import dungeonmania.entities.buildables.Buildable;
 import dungeonmania.entities.buildables.Shield;
 import dungeonmania.entities.collectables.*;
 import dungeonmania.entities.enemies.*;
@@ -13,26 +15,47 @@ import dungeonmania.entities.logical.*;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.json.JSONObject;
 
 public class EntityFactory {
-    private JSONObject config;
-    private Random ranGen = new Random();
+    private final GameSettings settings;
+    /** How many IDs `issueId` has given out */
+    private int issuedIds = 0;
 
+    public EntityFactory(GameSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * @param config The config, in the format of the files in `resources/configs`
+     * @throws IllegalArgumentException if a setting in the config is invalid
+     */
     public EntityFactory(JSONObject config) {
-        this.config = config;
+        this(GameSettings.fromJson(config));
     }
 
     public Entity createEntity(JSONObject jsonEntity) {
-        return constructEntity(jsonEntity, config);
+        return prepareEntity(jsonEntity).get();
+    }
+
+    /**
+     * Give an entity joining this factory's game the game's next ID.
+     *
+     * Each game has a factory of its own, and a game played again from the start with the same seed builds the same
+     * entities in the same order, so they are issued the same IDs. IDs are only unique within their game.
+     */
+    public <T extends Entity> T issueId(T entity) {
+        entity.setId("entity-" + issuedIds++);
+        return entity;
     }
 
     public void spawnSpider(Game game) {
         GameMap map = game.getMap();
         int tick = game.getTick();
-        int rate = config.optInt("spider_spawn_interval", 0);
+        int rate = settings.getSpiderSpawnInterval();
         if (rate == 0 || (tick + 1) % rate != 0)
             return;
         int radius = 20;
@@ -53,8 +76,8 @@ public class EntityFactory {
                 availablePos.add(np);
             }
         }
-        Position initPosition = availablePos.get(ranGen.nextInt(availablePos.size()));
-        Spider spider = buildSpider(initPosition);
+        Position initPosition = availablePos.get(game.getRandom().nextInt(availablePos.size()));
+        Spider spider = issueId(buildSpider(initPosition));
         map.addEntity(spider);
         game.register(() -> spider.move(game), Game.AI_MOVEMENT, spider.getId());
     }
@@ -62,126 +85,143 @@ public class EntityFactory {
     public void spawnZombie(Game game, ZombieToastSpawner spawner) {
         GameMap map = game.getMap();
         int tick = game.getTick();
-        Random randGen = new Random();
-        int spawnInterval = config.optInt("zombie_spawn_interval", ZombieToastSpawner.DEFAULT_SPAWN_INTERVAL);
+        int spawnInterval = spawner.getSpawnInterval();
         if (spawnInterval == 0 || (tick + 1) % spawnInterval != 0)
             return;
         List<Position> pos = spawner.getPosition().getCardinallyAdjacentPositions();
         pos = pos.stream().filter(p -> map.getEntities(p).stream().noneMatch(Wall.class::isInstance)).toList();
         if (pos.isEmpty())
             return;
-        ZombieToast zt = buildZombieToast(pos.get(randGen.nextInt(pos.size())));
+        ZombieToast zt = issueId(buildZombieToast(pos.get(game.getRandom().nextInt(pos.size()))));
         map.addEntity(zt);
         map.registerPotionListener(zt);
         game.register(() -> zt.move(game), Game.AI_MOVEMENT, zt.getId());
     }
 
     public Spider buildSpider(Position pos) {
-        double spiderHealth = config.optDouble("spider_health", Spider.DEFAULT_HEALTH);
-        double spiderAttack = config.optDouble("spider_attack", Spider.DEFAULT_ATTACK);
-        return new Spider(pos, spiderHealth, spiderAttack);
+        return new Spider(pos, settings.getSpiderHealth(), settings.getSpiderAttack());
     }
 
     public Player buildPlayer(Position pos) {
-        double playerHealth = config.optDouble("player_health", Player.DEFAULT_HEALTH);
-        double playerAttack = config.optDouble("player_attack", Player.DEFAULT_ATTACK);
-        return new Player(pos, playerHealth, playerAttack);
+        return new Player(pos, settings.getPlayerHealth(), settings.getPlayerAttack());
     }
 
     public ZombieToast buildZombieToast(Position pos) {
-        double zombieHealth = config.optDouble("zombie_health", ZombieToast.DEFAULT_HEALTH);
-        double zombieAttack = config.optDouble("zombie_attack", ZombieToast.DEFAULT_ATTACK);
-        return new ZombieToast(pos, zombieHealth, zombieAttack);
+        return new ZombieToast(pos, settings.getZombieHealth(), settings.getZombieAttack());
     }
 
     public ZombieToastSpawner buildZombieToastSpawner(Position pos) {
-        int zombieSpawnRate = config.optInt("zombie_spawn_interval", ZombieToastSpawner.DEFAULT_SPAWN_INTERVAL);
-        return new ZombieToastSpawner(pos, zombieSpawnRate);
+        return new ZombieToastSpawner(pos, settings.getZombieSpawnInterval());
     }
 
     public Mercenary buildMercenary(Position pos) {
-        double mercenaryHealth = config.optDouble("mercenary_health", Mercenary.DEFAULT_HEALTH);
-        double mercenaryAttack = config.optDouble("mercenary_attack", Mercenary.DEFAULT_ATTACK);
-        double allyAttack = config.optDouble("ally_attack", Mercenary.DEFAULT_HEALTH);
-        double allyDefence = config.optDouble("ally_defence", Mercenary.DEFAULT_ATTACK);
-        int mercenaryBribeAmount = config.optInt("bribe_amount", Mercenary.DEFAULT_BRIBE_AMOUNT);
-        int mercenaryBribeRadius = config.optInt("bribe_radius", Mercenary.DEFAULT_BRIBE_RADIUS);
-        return new Mercenary(pos, mercenaryHealth, mercenaryAttack, mercenaryBribeAmount, mercenaryBribeRadius,
-                allyAttack, allyDefence);
+        return new Mercenary(pos, settings.getMercenaryHealth(), settings.getMercenaryAttack(),
+                settings.getBribeAmount(), settings.getBribeRadius(), settings.getAllyAttack(),
+                settings.getAllyDefence());
     }
 
     public Bow buildBow() {
-        int bowDurability = config.optInt("bow_durability");
-        return new Bow(bowDurability);
+        return new Bow(settings.getBowDurability());
     }
 
     public Shield buildShield() {
-        int shieldDurability = config.optInt("shield_durability");
-        double shieldDefence = config.optInt("shield_defence");
-        return new Shield(shieldDurability, shieldDefence);
+        return new Shield(settings.getShieldDurability(), settings.getShieldDefence());
     }
 
-    private Entity constructEntity(JSONObject jsonEntity, JSONObject config) {
+    /**
+     * Build a craftable item by its recipe name
+     * @throws IllegalArgumentException if no buildable has that name
+     */
+    public Buildable buildBuildable(String type) {
+        return issueId(switch (type) {
+        case "bow" -> buildBow();
+        case "shield" -> buildShield();
+        default -> throw new IllegalArgumentException(
+                String.format("Failed to recognise '%s' buildable in EntityFactory", type));
+        });
+    }
+
+    public Sword buildSword(Position pos) {
+        return new Sword(pos, settings.getSwordAttack(), settings.getSwordDurability());
+    }
+
+    /**
+     * Prepare to build the entity described by the given JSON, without building it yet.
+     *
+     * The JSON is read once, here, so that every game sharing a dungeon can build its own copies of the entity from the
+     * returned supplier without parsing it again.
+     * @throws IllegalArgumentException if the entity's type isn't recognised
+     */
+    public Supplier<Entity> prepareEntity(JSONObject jsonEntity) {
         Position pos = new Position(jsonEntity.getInt("x"), jsonEntity.getInt("y"));
+        Function<Position, Entity> constructor = prepareConstructor(jsonEntity);
+        return () -> constructor.apply(pos);
+    }
 
+    /**
+     * Prepare to build entities like the one described by the given JSON at any position. Everything but the entity's
+     * `x` and `y` is read here, once, so many entities of the same kind can be built without any more JSON.
+     * @throws IllegalArgumentException if the entity's type isn't recognised
+     */
+    public Function<Position, Entity> prepareConstructor(JSONObject jsonEntity) {
         switch (jsonEntity.getString("type")) {
         case "player":
-            return buildPlayer(pos);
+            return this::buildPlayer;
         case "zombie_toast":
-            return buildZombieToast(pos);
+            return this::buildZombieToast;
         case "zombie_toast_spawner":
-            return buildZombieToastSpawner(pos);
+            return this::buildZombieToastSpawner;
         case "mercenary":
-            return buildMercenary(pos);
+            return this::buildMercenary;
         case "wall":
-            return new Wall(pos);
+            return Wall::new;
         case "boulder":
-            return new Boulder(pos);
+            return Boulder::new;
         case "switch":
-            return new Switch(pos);
+            return Switch::new;
         case "exit":
-            return new Exit(pos);
+            return Exit::new;
         case "treasure":
-            return new Treasure(pos);
+            return Treasure::new;
         case "wood":
-            return new Wood(pos);
+            return Wood::new;
         case "arrow":
-            return new Arrow(pos);
+            return Arrow::new;
         case "wire":
-            return new Wire(pos);
+            return Wire::new;
         case "light_bulb_off":
-            String lightBulbLogic = jsonEntity.optString("logic", null);
-            return new LightBulb(pos, LogicRule.fromString(lightBulbLogic));
+            LogicRule lightBulbLogic = LogicRule.fromString(jsonEntity.optString("logic", null));
+            return pos -> new LightBulb(pos, lightBulbLogic);
         case "switch_door":
-            String switchDoorLogic = jsonEntity.optString("logic", null);
-            return new SwitchDoor(pos, LogicRule.fromString(switchDoorLogic));
+            LogicRule switchDoorLogic = LogicRule.fromString(jsonEntity.optString("logic", null));
+            return pos -> new SwitchDoor(pos, switchDoorLogic);
         case "bomb":
-            int bombRadius = config.optInt("bomb_radius", Bomb.DEFAULT_RADIUS);
+            int bombRadius = settings.getBombRadius();
             String bombLogic = jsonEntity.optString("logic", null);
             if (bombLogic != null) {
-                return new Bomb(pos, bombRadius, LogicRule.fromString(bombLogic));
+                LogicRule bombRule = LogicRule.fromString(bombLogic);
+                return pos -> new Bomb(pos, bombRadius, bombRule);
             }
-            return new Bomb(pos, bombRadius);
+            return pos -> new Bomb(pos, bombRadius);
         case "invisibility_potion":
-            int invisibilityPotionDuration = config.optInt("invisibility_potion_duration",
-                    InvisibilityPotion.DEFAULT_DURATION);
-            return new InvisibilityPotion(pos, invisibilityPotionDuration);
+            int invisibilityPotionDuration = settings.getInvisibilityPotionDuration();
+            return pos -> new InvisibilityPotion(pos, invisibilityPotionDuration);
         case "invincibility_potion":
-            int invincibilityPotionDuration = config.optInt("invincibility_potion_duration",
-                    InvincibilityPotion.DEFAULT_DURATION);
-            return new InvincibilityPotion(pos, invincibilityPotionDuration);
+            int invincibilityPotionDuration = settings.getInvincibilityPotionDuration();
+            return pos -> new InvincibilityPotion(pos, invincibilityPotionDuration);
         case "portal":
-            return new Portal(pos, ColorCodedType.valueOf(jsonEntity.getString("colour")));
+            ColorCodedType colour = ColorCodedType.valueOf(jsonEntity.getString("colour"));
+            return pos -> new Portal(pos, colour);
         case "sword":
-            double swordAttack = config.optDouble("sword_attack", Sword.DEFAULT_ATTACK);
-            int swordDurability = config.optInt("sword_durability", Sword.DEFAULT_DURABILITY);
-            return new Sword(pos, swordAttack, swordDurability);
+            return this::buildSword;
         case "spider":
-            return buildSpider(pos);
+            return this::buildSpider;
         case "door":
-            return new Door(pos, jsonEntity.getInt("key"));
+            int doorKey = jsonEntity.getInt("key");
+            return pos -> new Door(pos, doorKey);
         case "key":
-            return new Key(pos, jsonEntity.getInt("key"));
+            int key = jsonEntity.getInt("key");
+            return pos -> new Key(pos, key);
         default:
             throw new IllegalArgumentException(
                     String.format("Failed to recognise '%s' entity in EntityFactory", jsonEntity.getString("type")));
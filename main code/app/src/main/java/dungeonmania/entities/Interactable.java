@@ -17,4 +17,11 @@ public interface Interactable {
      * This can perform operations such as checking the contents of the player's inventory.
      */
     public boolean isInteractable(Player player);
+    /**
+     * Return the furthest distance (in steps, ignoring walls) from the player at which `isInteractable` can ever
+     * return true. Responses treat entities further away than this as not interactable without asking them.
+     */
+    public default int getInteractionRadius() {
+        return 1;
+    }
 }
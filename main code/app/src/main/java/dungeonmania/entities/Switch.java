@@ -74,6 +74,7 @@ public class Switch extends Entity implements Conductor {
     public void activate(GameMap map, int tick) {
         if (!activated) {
             activated = true;
+            map.notifySwitch(this);
             activateBombs(map);
             LogicPropagator.propagateActivation(map, this, tick);
         }
@@ -83,6 +84,7 @@ public class Switch extends Entity implements Conductor {
     public void deactivate(GameMap map) {
         if (activated) {
             activated = false;
+            map.notifySwitch(this);
             LogicPropagator.propagateDeactivation(map, this);
         }
     }
@@ -1,36 +1,44 @@
 package dungeonmania.entities.crafting;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.json.JSONObject;
+
 import dungeonmania.entities.EntityFactory;
 import dungeonmania.entities.inventory.Inventory;
 import dungeonmania.entities.inventory.InventoryItem;
+import dungeonmania.util.FileLoader;
 
 /**
  * Manages all crafting recipes in the game.
- * Provides a central registry for recipes and coordinates crafting operations.
+ * Recipes are data, loaded from `resources/crafting/recipes.json` unless given explicitly, and compiled into
+ * requirement vectors over a shared list of item types so that every recipe can be checked against a single pass
+ * over the inventory.
  */
 public class CraftingManager {
-    private Map<String, CraftingRecipe> recipes = new HashMap<>();
+    private List<Class<? extends InventoryItem>> itemTypes = new ArrayList<>();
+    private Map<String, Recipe> recipes = new LinkedHashMap<>();
 
     /**
-     * Constructor - registers all default recipes
+     * Constructor - loads the default recipes
      */
     public CraftingManager() {
-        // Register default recipes
-        registerRecipe(new BowRecipe());
-        registerRecipe(new ShieldRecipe());
+        this(loadDefaultRecipes());
     }
 
     /**
-     * Register a new recipe
-     * @param recipe The recipe to register
+     * Constructor - compiles the given recipe definitions
+     * @param definitions Recipe definitions in the format described by `RecipeLoader`
+     * @throws IllegalArgumentException if a recipe is invalid
      */
-    public void registerRecipe(CraftingRecipe recipe) {
-        recipes.put(recipe.getName(), recipe);
+    public CraftingManager(JSONObject definitions) {
+        RecipeLoader.compile(definitions, itemTypes).forEach(recipe -> recipes.put(recipe.getName(), recipe));
     }
 
     /**
@@ -40,7 +48,7 @@ public class CraftingManager {
      * @return true if the item can be crafted, false otherwise
      */
     public boolean canCraft(String name, Inventory inventory) {
-        CraftingRecipe recipe = recipes.get(name);
+        Recipe recipe = recipes.get(name);
         return recipe != null && recipe.canCraft(inventory);
     }
 
@@ -52,7 +60,7 @@ public class CraftingManager {
      * @return The crafted item, or null if crafting failed
      */
     public InventoryItem craft(String name, Inventory inventory, EntityFactory factory) {
-        CraftingRecipe recipe = recipes.get(name);
+        Recipe recipe = recipes.get(name);
         if (recipe == null) {
             return null;
         }
@@ -62,10 +70,21 @@ public class CraftingManager {
     /**
      * Get a list of all items that can currently be crafted
      * @param inventory Player's inventory
-     * @return List of craftable item names
+     * @return List of craftable item names, in the order the recipes were defined
      */
     public List<String> getBuildables(Inventory inventory) {
-        return recipes.values().stream().filter(recipe -> recipe.canCraft(inventory)).map(CraftingRecipe::getName)
+        int[] counts = new int[itemTypes.size()];
+        for (int i = 0; i < counts.length; i++)
+            counts[i] = inventory.count(itemTypes.get(i));
+        return recipes.values().stream().filter(recipe -> recipe.canCraft(counts)).map(Recipe::getName)
                 .collect(Collectors.toList());
     }
+
+    private static JSONObject loadDefaultRecipes() {
+        try {
+            return new JSONObject(FileLoader.loadResourceFile(RecipeLoader.DEFAULT_RECIPES));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load crafting recipes", e);
+        }
+    }
 }
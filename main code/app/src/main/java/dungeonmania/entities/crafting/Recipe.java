@@ -0,0 +1,88 @@
+package dungeonmania.entities.crafting;
+
+import java.util.List;
+
+import dungeonmania.entities.EntityFactory;
+import dungeonmania.entities.inventory.Inventory;
+import dungeonmania.entities.inventory.InventoryItem;
+
+/**
+ * A crafting recipe compiled from its data definition.
+ *
+ * Alternatives are expanded when the recipe is compiled, so (1 wood OR 2 arrows) + (1 key OR 1 treasure) becomes four
+ * plain requirement vectors, tried in the order they were written. Each vector is stored sparsely as parallel arrays
+ * of item type indices and amounts. The indices refer to the item types of the `CraftingManager` that owns the recipe.
+ */
+public class Recipe implements CraftingRecipe {
+    private final String name;
+    private final List<Class<? extends InventoryItem>> itemTypes;
+    /** `types[option][i]` is the index of the i-th item type needed by that option */
+    private final int[][] types;
+    /** `amounts[option][i]` is how many of `types[option][i]` that option needs */
+    private final int[][] amounts;
+
+    public Recipe(String name, List<Class<? extends InventoryItem>> itemTypes, int[][] types, int[][] amounts) {
+        this.name = name;
+        this.itemTypes = itemTypes;
+        this.types = types;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Check if this recipe can be crafted given how many of each item type the inventory holds
+     * @param counts item counts, indexed like the owning `CraftingManager`'s item types
+     */
+    public boolean canCraft(int[] counts) {
+        for (int option = 0; option < types.length; option++) {
+            if (satisfies(option, counts))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean canCraft(Inventory inventory) {
+        return firstCraftableOption(inventory) >= 0;
+    }
+
+    @Override
+    public InventoryItem craft(Inventory inventory, EntityFactory factory) {
+        int option = firstCraftableOption(inventory);
+        if (option < 0) {
+            return null;
+        }
+
+        // Consume materials
+        for (int i = 0; i < types[option].length; i++) {
+            Class<? extends InventoryItem> type = itemTypes.get(types[option][i]);
+            for (int n = 0; n < amounts[option][i]; n++)
+                inventory.remove(inventory.getFirst(type));
+        }
+
+        return factory.buildBuildable(name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    private boolean satisfies(int option, int[] counts) {
+        for (int i = 0; i < types[option].length; i++) {
+            if (counts[types[option][i]] < amounts[option][i])
+                return false;
+        }
+        return true;
+    }
+
+    private int firstCraftableOption(Inventory inventory) {
+        for (int option = 0; option < types.length; option++) {
+            boolean craftable = true;
+            for (int i = 0; i < types[option].length && craftable; i++)
+                craftable = inventory.count(itemTypes.get(types[option][i])) >= amounts[option][i];
+            if (craftable)
+                return option;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,113 @@
+package dungeonmania.entities.crafting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import dungeonmania.entities.buildables.Bow;
+import dungeonmania.entities.buildables.Shield;
+import dungeonmania.entities.collectables.Arrow;
+import dungeonmania.entities.collectables.Bomb;
+import dungeonmania.entities.collectables.Key;
+import dungeonmania.entities.collectables.Sword;
+import dungeonmania.entities.collectables.Treasure;
+import dungeonmania.entities.collectables.Wood;
+import dungeonmania.entities.collectables.potions.InvincibilityPotion;
+import dungeonmania.entities.collectables.potions.InvisibilityPotion;
+import dungeonmania.entities.inventory.InventoryItem;
+
+/**
+ * Compiles recipe definitions into `Recipe`s.
+ *
+ * A definition lists a recipe's ingredients as groups of alternatives: every group must be satisfied, and a group is
+ * satisfied by any one of its entries, e.g.
+ *
+ * <pre>
+ * { "name": "shield", "ingredients": [
+ *     [{ "type": "wood", "amount": 2 }],
+ *     [{ "type": "treasure", "amount": 1 }, { "type": "key", "amount": 1 }] ] }
+ * </pre>
+ */
+public final class RecipeLoader {
+    public static final String DEFAULT_RECIPES = "/crafting/recipes.json";
+
+    /** Item names usable as ingredients, as written in dungeon files */
+    private static final Map<String, Class<? extends InventoryItem>> ITEM_TYPES = Map.of(
+            "wood", Wood.class,
+            "arrow", Arrow.class,
+            "treasure", Treasure.class,
+            "key", Key.class,
+            "sword", Sword.class,
+            "bomb", Bomb.class,
+            "invincibility_potion", InvincibilityPotion.class,
+            "invisibility_potion", InvisibilityPotion.class,
+            "bow", Bow.class,
+            "shield", Shield.class);
+
+    private RecipeLoader() {
+    }
+
+    /**
+     * Compile every recipe in `definitions`. Ingredient types are appended to `itemTypes` the first time they are
+     * seen, and the compiled recipes index into that list.
+     * @throws IllegalArgumentException if a recipe uses an unknown item or a non-positive amount
+     */
+    public static List<Recipe> compile(JSONObject definitions, List<Class<? extends InventoryItem>> itemTypes) {
+        List<Recipe> recipes = new ArrayList<>();
+        JSONArray jsonRecipes = definitions.getJSONArray("recipes");
+        for (int i = 0; i < jsonRecipes.length(); i++)
+            recipes.add(compileRecipe(jsonRecipes.getJSONObject(i), itemTypes));
+        return recipes;
+    }
+
+    private static Recipe compileRecipe(JSONObject jsonRecipe, List<Class<? extends InventoryItem>> itemTypes) {
+        String name = jsonRecipe.getString("name");
+        JSONArray groups = jsonRecipe.getJSONArray("ingredients");
+
+        // Expand the groups of alternatives into every combination, keeping the order they were written in
+        List<Map<Integer, Integer>> options = new ArrayList<>();
+        options.add(new TreeMap<>());
+        for (int g = 0; g < groups.length(); g++) {
+            JSONArray alternatives = groups.getJSONArray(g);
+            List<Map<Integer, Integer>> expanded = new ArrayList<>();
+            for (Map<Integer, Integer> option : options) {
+                for (int a = 0; a < alternatives.length(); a++) {
+                    JSONObject ingredient = alternatives.getJSONObject(a);
+                    int amount = ingredient.getInt("amount");
+                    if (amount <= 0)
+                        throw new IllegalArgumentException(
+                                String.format("Recipe '%s' needs a positive amount of each ingredient", name));
+                    Map<Integer, Integer> next = new TreeMap<>(option);
+                    next.merge(indexOf(ingredient.getString("type"), name, itemTypes), amount, Integer::sum);
+                    expanded.add(next);
+                }
+            }
+            options = expanded;
+        }
+
+        int[][] types = new int[options.size()][];
+        int[][] amounts = new int[options.size()][];
+        for (int o = 0; o < options.size(); o++) {
+            types[o] = options.get(o).keySet().stream().mapToInt(Integer::intValue).toArray();
+            amounts[o] = options.get(o).values().stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new Recipe(name, itemTypes, types, amounts);
+    }
+
+    private static int indexOf(String type, String recipe, List<Class<? extends InventoryItem>> itemTypes) {
+        Class<? extends InventoryItem> itemType = ITEM_TYPES.get(type);
+        if (itemType == null)
+            throw new IllegalArgumentException(
+                    String.format("Failed to recognise '%s' ingredient in recipe '%s'", type, recipe));
+        int index = itemTypes.indexOf(itemType);
+        if (index < 0) {
+            itemTypes.add(itemType);
+            index = itemTypes.size() - 1;
+        }
+        return index;
+    }
+}
@@ -84,10 +84,20 @@ public class Mercenary extends Enemy implements Interactable, PotionListener {
         return !allied && canBeBribed(player);
     }
 
+    @Override
+    public int getInteractionRadius() {
+        return bribeRadius;
+    }
+
     @Override
     public BattleStatistics getBattleStatistics() {
         if (!allied)
             return super.getBattleStatistics();
+        return getAllyBattleStatistics();
+    }
+
+    /** Return the buff this mercenary gives the player once it has been bribed */
+    public BattleStatistics getAllyBattleStatistics() {
         return new BattleStatistics(0, allyAttack, allyDefence, 1, 1);
     }
 
@@ -10,8 +10,16 @@ import dungeonmania.util.Position;
 public class ZombieToastSpawner extends Entity implements Interactable {
     public static final int DEFAULT_SPAWN_INTERVAL = 0;
 
+    private final int spawnInterval;
+
     public ZombieToastSpawner(Position position, int spawnInterval) {
         super(position);
+        this.spawnInterval = spawnInterval;
+    }
+
+    /** A zombie toast is spawned every this many ticks, or never if 0 */
+    public int getSpawnInterval() {
+        return spawnInterval;
     }
 
     public void spawn(Game game) {
@@ -1,7 +1,6 @@
 package dungeonmania.entities.enemies.movement;
 
 import java.util.List;
-import java.util.Random;
 
 import dungeonmania.Game;
 import dungeonmania.entities.enemies.Enemy;
@@ -12,8 +11,6 @@ import dungeonmania.util.Position;
  * Movement strategy for enemies that move in random directions.
  */
 public class RandomMovement implements MovementStrategy {
-    private Random randGen = new Random();
-
     @Override
     public Position getNextPosition(Game game, Enemy enemy) {
         GameMap map = game.getMap();
@@ -24,6 +21,6 @@ public class RandomMovement implements MovementStrategy {
             return enemy.getPosition();
         }
 
-        return validPositions.get(randGen.nextInt(validPositions.size()));
+        return validPositions.get(game.getRandom().nextInt(validPositions.size()));
     }
 }
@@ -0,0 +1,12 @@
+package dungeonmania.entities.inventory;
+
+import java.util.List;
+
+/**
+ * Apply to objects which need to know when the set of items the player can build changes, such as the response layer
+ * or an automated player deciding whether to craft.
+ */
+public interface BuildablesListener {
+    /** Called when a change to the inventory changes what the player can build */
+    public void notifyBuildables(List<String> buildables);
+}
@@ -1,8 +1,13 @@
 package dungeonmania.entities.inventory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import dungeonmania.entities.Entity;
 import dungeonmania.entities.EntityFactory;
@@ -13,25 +18,95 @@ import dungeonmania.entities.crafting.CraftingManager;
 
 /**
  * Represents the contents of the player's inventory, containing all their collected and crafted items.
+ *
+ * Items are stored as a multiset keyed by type. Each item is filed under its own class and every superclass and
+ * interface it has, so counting, finding the first item of a type and removing an item are all constant time, even
+ * when querying by a base class or interface. Each bucket keeps items in the order they were picked up.
+ *
+ * Every change bumps a version counter, and the list of buildables is cached against it so that it is only
+ * recomputed after the contents have actually changed. Listeners are told whenever that list differs.
  */
 public class Inventory {
-    private List<InventoryItem> items = new ArrayList<>();
+    /** Every type each item class can be looked up by, computed once per class */
+    private static final Map<Class<?>, List<Class<?>>> LOOKUP_TYPES = new ConcurrentHashMap<>();
+
+    /** All items, in the order they were picked up */
+    private Set<InventoryItem> items = new LinkedHashSet<>();
+    /** Items grouped by each type they can be looked up by, each in the order they were picked up */
+    private Map<Class<?>, Set<InventoryItem>> buckets = new HashMap<>();
+    private Map<String, InventoryItem> itemsById = new HashMap<>();
     private static CraftingManager craftingManager = new CraftingManager();
 
+    /** Incremented every time an item is added or removed */
+    private long version = 0;
+    /** Incremented every time the list of buildables changes */
+    private long buildablesVersion = 0;
+    private List<String> buildables = Collections.emptyList();
+    /** The inventory version `buildables` was computed for */
+    private long buildablesComputedAt = -1;
+    private List<BuildablesListener> buildablesListeners = new ArrayList<>();
+    /** Set while crafting so listeners hear about the finished craft rather than each ingredient being used */
+    private boolean crafting = false;
+
     /** Add the given item to the inventory */
     public boolean add(InventoryItem item) {
-        items.add(item);
+        if (!items.add(item))
+            return true;
+        itemsById.put(item.getId(), item);
+        for (Class<?> type : lookupTypes(item.getClass()))
+            buckets.computeIfAbsent(type, k -> new LinkedHashSet<>()).add(item);
+        changed();
         return true;
     }
 
     /** Remove the given item from the inventory */
     public void remove(InventoryItem item) {
-        items.remove(item);
+        if (item == null || !items.remove(item))
+            return;
+        itemsById.remove(item.getId());
+        for (Class<?> type : lookupTypes(item.getClass()))
+            buckets.get(type).remove(item);
+        changed();
     }
 
-    /** Get the list of possible buildables */
+    /**
+     * Get the list of possible buildables. The list is only recomputed if the inventory has changed since the last
+     * call, and is unmodifiable.
+     */
     public List<String> getBuildables() {
-        return craftingManager.getBuildables(this);
+        if (buildablesComputedAt != version) {
+            List<String> latest = Collections.unmodifiableList(craftingManager.getBuildables(this));
+            buildablesComputedAt = version;
+            if (!latest.equals(buildables)) {
+                buildables = latest;
+                buildablesVersion++;
+                buildablesListeners.forEach(l -> l.notifyBuildables(latest));
+            }
+        }
+        return buildables;
+    }
+
+    /** Return a counter which increases every time an item is added or removed */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Return a counter which increases every time the list of buildables changes. Callers can compare it with the
+     * value they last saw to skip work when nothing new can be built.
+     */
+    public long getBuildablesVersion() {
+        getBuildables();
+        return buildablesVersion;
+    }
+
+    /** Register a listener to be told whenever the list of buildables changes */
+    public void registerBuildablesListener(BuildablesListener listener) {
+        buildablesListeners.add(listener);
+    }
+
+    public void unregisterBuildablesListener(BuildablesListener listener) {
+        buildablesListeners.remove(listener);
     }
 
     /**
@@ -41,11 +116,17 @@ public class Inventory {
      * @return true if the item was successfully crafted and added to inventory
      */
     public boolean build(String buildable, EntityFactory factory) {
-        InventoryItem item = craftingManager.craft(buildable, this, factory);
-        if (item == null) {
-            return false;
+        crafting = true;
+        try {
+            InventoryItem item = craftingManager.craft(buildable, this, factory);
+            if (item == null) {
+                return false;
+            }
+            return add(item);
+        } finally {
+            crafting = false;
+            changed();
         }
-        return add(item);
     }
 
     /**
@@ -53,13 +134,13 @@ public class Inventory {
      *
      * For example, to find the first piece of treasure, you could pass `Treasure.class`.
      *
-     * This uses an `isInstance` check, so you can use interfaces and base classes too.
+     * This matches like an `isInstance` check, so you can use interfaces and base classes too.
      */
     public <T extends InventoryItem> T getFirst(Class<T> itemType) {
-        for (InventoryItem item : items)
-            if (itemType.isInstance(item))
-                return itemType.cast(item);
-        return null;
+        Set<InventoryItem> bucket = buckets.get(itemType);
+        if (bucket == null || bucket.isEmpty())
+            return null;
+        return itemType.cast(bucket.iterator().next());
     }
 
     /**
@@ -67,27 +148,21 @@ public class Inventory {
      *
      * For example, to determine how rich the player is, you could pass `Treasure.class` to count their treasure.
      *
-     * This uses an `isInstance` check, so you can use interfaces and base classes too.
+     * This matches like an `isInstance` check, so you can use interfaces and base classes too.
      */
     public <T extends InventoryItem> int count(Class<T> itemType) {
-        int count = 0;
-        for (InventoryItem item : items)
-            if (itemType.isInstance(item))
-                count++;
-        return count;
+        Set<InventoryItem> bucket = buckets.get(itemType);
+        return bucket == null ? 0 : bucket.size();
     }
 
     /** Return a reference to the entity with the given ID, else `null` if not found */
     public Entity getEntity(String entityId) {
-        for (InventoryItem item : items)
-            if (item.getId().equals(entityId))
-                return item;
-        return null;
+        return itemsById.get(entityId);
     }
 
     /** Return all entities in the inventory */
     public List<Entity> getEntities() {
-        return items.stream().map(Entity.class::cast).collect(Collectors.toList());
+        return new ArrayList<>(items);
     }
 
     /**
@@ -95,15 +170,19 @@ public class Inventory {
      *
      * For example, to plunder the player's riches, you could pass `Treasure.class` to find all their treasure.
      *
-     * This uses an `isInstance` check, so you can use interfaces and base classes too.
+     * This matches like an `isInstance` check, so you can use interfaces and base classes too.
      */
     public <T> List<T> getEntities(Class<T> clz) {
-        return items.stream().filter(clz::isInstance).map(clz::cast).collect(Collectors.toList());
+        List<T> matching = new ArrayList<>();
+        Set<InventoryItem> bucket = buckets.get(clz);
+        if (bucket != null)
+            bucket.forEach(item -> matching.add(clz.cast(item)));
+        return matching;
     }
 
     /** Return whether the player has a sword or a bow. */
     public boolean hasWeapon() {
-        return getFirst(Sword.class) != null || getFirst(Bow.class) != null;
+        return count(Sword.class) > 0 || count(Bow.class) > 0;
     }
 
     /**
@@ -119,4 +198,29 @@ public class Inventory {
         return weapon;
     }
 
+    private void changed() {
+        version++;
+        // Listeners expect to hear about changes as they happen rather than on the next query
+        if (!crafting && !buildablesListeners.isEmpty())
+            getBuildables();
+    }
+
+    /** Return the given class along with all of its superclasses and the interfaces they implement */
+    private static List<Class<?>> lookupTypes(Class<?> itemClass) {
+        return LOOKUP_TYPES.computeIfAbsent(itemClass, k -> {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            for (Class<?> c = k; c != null; c = c.getSuperclass()) {
+                types.add(c);
+                addInterfaces(c, types);
+            }
+            return new ArrayList<>(types);
+        });
+    }
+
+    private static void addInterfaces(Class<?> type, Set<Class<?>> types) {
+        for (Class<?> i : type.getInterfaces()) {
+            if (types.add(i))
+                addInterfaces(i, types);
+        }
+    }
 }
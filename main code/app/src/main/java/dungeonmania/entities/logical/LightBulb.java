@@ -111,10 +111,12 @@ public class LightBulb extends Entity implements LogicalEntity {
     @Override
     public void activateLogical(GameMap map) {
         isActivated = true;
+        map.notifyChanged(this);
     }
 
     @Override
     public void deactivateLogical(GameMap map) {
         isActivated = false;
+        map.notifyChanged(this);
     }
 }
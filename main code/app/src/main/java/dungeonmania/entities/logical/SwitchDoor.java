@@ -121,10 +121,12 @@ public class SwitchDoor extends Entity implements LogicalEntity {
     @Override
     public void activateLogical(GameMap map) {
         isOpen = true;
+        map.notifyChanged(this);
     }
 
     @Override
     public void deactivateLogical(GameMap map) {
         isOpen = false;
+        map.notifyChanged(this);
     }
 }
@@ -1,43 +1,21 @@
 package dungeonmania.goals;
 
-import dungeonmania.Game;
+import java.util.List;
 
 /**
- * Composite goal representing a logical AND of two sub-goals
- * Both sub-goals must be achieved for this goal to be achieved
+ * Composite goal representing a logical AND of its sub-goals
+ * Every sub-goal must be achieved for this goal to be achieved
  */
-public class AndGoal implements Goal {
-    private final Goal goal1;
-    private final Goal goal2;
-
+public class AndGoal extends CompositeGoal {
     /**
-     * Create an AND goal from two sub-goals
-     * @param goal1 First sub-goal
-     * @param goal2 Second sub-goal
+     * Create an AND goal from two or more sub-goals
+     * @param subGoals Sub-goals, in the order they are listed in the goal string
      */
-    public AndGoal(Goal goal1, Goal goal2) {
-        this.goal1 = goal1;
-        this.goal2 = goal2;
+    public AndGoal(List<Goal> subGoals) {
+        super(subGoals, "AND", false);
     }
 
-    @Override
-    public boolean achieved(Game game) {
-        return goal1.achieved(game) && goal2.achieved(game);
-    }
-
-    @Override
-    public String toString(Game game) {
-        if (achieved(game)) {
-            return "";
-        }
-        return "(" + goal1.toString(game) + " AND " + goal2.toString(game) + ")";
-    }
-
-    public Goal getGoal1() {
-        return goal1;
-    }
-
-    public Goal getGoal2() {
-        return goal2;
+    public AndGoal(Goal goal1, Goal goal2) {
+        this(List.of(goal1, goal2));
     }
 }
@@ -1,19 +1,53 @@
 package dungeonmania.goals;
 
+import java.util.List;
+
 import dungeonmania.Game;
+import dungeonmania.entities.Entity;
 import dungeonmania.entities.Switch;
+import dungeonmania.map.MapListener;
 
 /**
  * Concrete goal representing the requirement to activate all switches with boulders
  */
-public class BouldersGoal implements Goal {
+public class BouldersGoal implements Goal, MapListener {
+    private int switches = 0;
+    private int activated = 0;
+    private Runnable onChange = () -> {
+    };
+
+    @Override
+    public void attach(Game game, Runnable onChange) {
+        this.onChange = onChange;
+        List<Switch> all = game.getMap().getEntities(Switch.class);
+        switches = all.size();
+        activated = (int) all.stream().filter(Switch::isActivated).count();
+        game.getMap().registerMapListener(this);
+    }
+
+    @Override
+    public void notifySwitch(Switch s) {
+        activated += s.isActivated() ? 1 : -1;
+        onChange.run();
+    }
+
+    @Override
+    public void notifyDestroyed(Entity entity) {
+        if (entity instanceof Switch s) {
+            switches--;
+            if (s.isActivated())
+                activated--;
+            onChange.run();
+        }
+    }
+
     @Override
     public boolean achieved(Game game) {
         if (game.getPlayer() == null) {
             return false;
         }
 
-        return game.getMap().getEntities(Switch.class).stream().allMatch(Switch::isActivated);
+        return activated == switches;
     }
 
     @Override
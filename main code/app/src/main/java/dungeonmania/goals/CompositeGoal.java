@@ -0,0 +1,111 @@
+package dungeonmania.goals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import dungeonmania.Game;
+
+/**
+ * Base class for goals which combine any number of sub-goals with a logical operator.
+ *
+ * The result is cached until a sub-goal reports a change. When it has to be recomputed, sub-goals are checked in
+ * order of how likely they are to decide the result on their own, based on what they returned last time, and then by
+ * how expensive they are to check, stopping as soon as the result is known. The goal string always lists sub-goals in
+ * the order they were given.
+ */
+public abstract class CompositeGoal implements Goal {
+    private final List<Goal> subGoals;
+    /** Name of the operator used in the goal string, e.g. "AND" */
+    private final String operator;
+    /** The sub-goal result which decides this goal's result on its own, e.g. `false` for AND */
+    private final boolean decidingResult;
+    /** Indices into `subGoals`, in the order they should be checked */
+    private final List<Integer> checkOrder;
+    /** Result of each sub-goal the last time it was checked, indexed like `subGoals` */
+    private final boolean[] lastResults;
+    private Runnable onChange = () -> {
+    };
+    /** Cached results, valid until one of the sub-goals reports a change */
+    private Boolean achieved = null;
+    private String description = null;
+
+    /**
+     * @param subGoals Sub-goals to combine
+     * @param operator Name of the operator used in the goal string
+     * @param decidingResult The sub-goal result which decides this goal's result on its own
+     * @throws IllegalArgumentException if fewer than two sub-goals are given
+     */
+    protected CompositeGoal(List<Goal> subGoals, String operator, boolean decidingResult) {
+        if (subGoals.size() < 2)
+            throw new IllegalArgumentException(
+                    String.format("%s goal needs at least two sub-goals but got %d", operator, subGoals.size()));
+        this.subGoals = List.copyOf(subGoals);
+        this.operator = operator;
+        this.decidingResult = decidingResult;
+        this.checkOrder = new ArrayList<>(IntStream.range(0, subGoals.size()).boxed().toList());
+        this.lastResults = new boolean[subGoals.size()];
+        sortCheckOrder();
+    }
+
+    @Override
+    public void attach(Game game, Runnable onChange) {
+        this.onChange = onChange;
+        subGoals.forEach(g -> g.attach(game, this::subGoalChanged));
+    }
+
+    private void subGoalChanged() {
+        achieved = null;
+        description = null;
+        onChange.run();
+    }
+
+    /** A composite costs as much as all of its sub-goals together */
+    @Override
+    public int cost() {
+        return 1 + subGoals.stream().mapToInt(Goal::cost).sum();
+    }
+
+    @Override
+    public boolean achieved(Game game) {
+        if (achieved == null) {
+            boolean result = !decidingResult;
+            boolean reorder = false;
+            for (int i : checkOrder) {
+                boolean subResult = subGoals.get(i).achieved(game);
+                reorder |= lastResults[i] != subResult;
+                lastResults[i] = subResult;
+                if (subResult == decidingResult) {
+                    result = decidingResult;
+                    break;
+                }
+            }
+            if (reorder)
+                sortCheckOrder();
+            achieved = result;
+        }
+        return achieved;
+    }
+
+    @Override
+    public String toString(Game game) {
+        if (description == null) {
+            description = achieved(game) ? ""
+                    : subGoals.stream().map(g -> g.toString(game))
+                            .collect(Collectors.joining(" " + operator + " ", "(", ")"));
+        }
+        return description;
+    }
+
+    public List<Goal> getSubGoals() {
+        return subGoals;
+    }
+
+    /** Put sub-goals which last decided the result first, cheapest first within each group */
+    private void sortCheckOrder() {
+        checkOrder.sort(Comparator.<Integer>comparingInt(i -> lastResults[i] == decidingResult ? 0 : 1)
+                .thenComparingInt(i -> subGoals.get(i).cost()));
+    }
+}
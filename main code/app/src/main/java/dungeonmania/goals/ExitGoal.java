@@ -1,17 +1,45 @@
 package dungeonmania.goals;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 import dungeonmania.Game;
 import dungeonmania.entities.Entity;
 import dungeonmania.entities.Exit;
 import dungeonmania.entities.Player;
+import dungeonmania.map.MapListener;
 import dungeonmania.util.Position;
 
 /**
  * Concrete goal representing the requirement to reach an exit
  */
-public class ExitGoal implements Goal {
+public class ExitGoal implements Goal, MapListener {
+    /** Number of exits at each position */
+    private Map<Position, Integer> exits = new HashMap<>();
+    private Runnable onChange = () -> {
+    };
+
+    @Override
+    public void attach(Game game, Runnable onChange) {
+        this.onChange = onChange;
+        game.getMap().getEntities(Exit.class).forEach(e -> exits.merge(e.getPosition(), 1, Integer::sum));
+        game.getMap().registerMapListener(this);
+    }
+
+    @Override
+    public void notifyMoved(Entity entity) {
+        if (entity instanceof Player)
+            onChange.run();
+    }
+
+    @Override
+    public void notifyDestroyed(Entity entity) {
+        if (entity instanceof Exit) {
+            exits.computeIfPresent(entity.getPosition(), (p, n) -> n > 1 ? n - 1 : null);
+            onChange.run();
+        }
+    }
+
     @Override
     public boolean achieved(Game game) {
         Player player = game.getPlayer();
@@ -19,14 +47,7 @@ public class ExitGoal implements Goal {
             return false;
         }
 
-        Position playerPos = player.getPosition();
-        List<Exit> exits = game.getMap().getEntities(Exit.class);
-
-        if (exits == null || exits.isEmpty()) {
-            return false;
-        }
-
-        return exits.stream().map(Entity::getPosition).anyMatch(playerPos::equals);
+        return exits.containsKey(player.getPosition());
     }
 
     @Override
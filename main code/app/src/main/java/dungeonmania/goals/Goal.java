@@ -5,8 +5,18 @@ import dungeonmania.Game;
 /**
  * Base interface for all goals using the Composite Pattern.
  * This allows for easy extension of new goal types without modifying existing code.
+ *
+ * Goals keep their own state up to date from map events instead of scanning the map whenever they are checked, so
+ * `achieved` is constant time once the goal has been attached to its game.
  */
 public interface Goal {
+    /**
+     * Start tracking the given game. Called once the game's map has been initialised.
+     * @param game The game this goal belongs to
+     * @param onChange Called whenever the result of `achieved` may have changed
+     */
+    void attach(Game game, Runnable onChange);
+
     /**
      * Check if this goal has been achieved
      * @param game The current game state
@@ -14,6 +24,14 @@ public interface Goal {
      */
     boolean achieved(Game game);
 
+    /**
+     * Estimate how expensive this goal is to check relative to others, used to decide which sub-goals of a composite
+     * to check first
+     */
+    default int cost() {
+        return 1;
+    }
+
     /**
      * Get a string representation of this goal
      * @param game The current game state
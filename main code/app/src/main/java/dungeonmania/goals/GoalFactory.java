@@ -1,8 +1,13 @@
 package dungeonmania.goals;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import dungeonmania.catalog.GameSettings;
+
 /**
  * Factory class for creating Goal objects from JSON configuration.
  * Now uses the Composite Pattern with polymorphic goal types.
@@ -15,6 +20,16 @@ public class GoalFactory {
      * @return A Goal object representing the specified goal
      */
     public static Goal createGoal(JSONObject jsonGoal, JSONObject config) {
+        return createGoal(jsonGoal, GameSettings.fromJson(config));
+    }
+
+    /**
+     * Create a Goal object from JSON configuration
+     * @param jsonGoal JSON object containing goal configuration
+     * @param config Settings of the game's config
+     * @return A Goal object representing the specified goal
+     */
+    public static Goal createGoal(JSONObject jsonGoal, GameSettings config) {
         String goalType = jsonGoal.getString("goal");
 
         return switch (goalType) {
@@ -28,30 +43,31 @@ public class GoalFactory {
     }
 
     /**
-     * Create an AND composite goal
+     * Create an AND composite goal from all of its sub-goals
      */
-    private static Goal createAndGoal(JSONObject jsonGoal, JSONObject config) {
-        JSONArray subgoals = jsonGoal.getJSONArray("subgoals");
-        Goal goal1 = createGoal(subgoals.getJSONObject(0), config);
-        Goal goal2 = createGoal(subgoals.getJSONObject(1), config);
-        return new AndGoal(goal1, goal2);
+    private static Goal createAndGoal(JSONObject jsonGoal, GameSettings config) {
+        return new AndGoal(createSubGoals(jsonGoal, config));
     }
 
     /**
-     * Create an OR composite goal
+     * Create an OR composite goal from all of its sub-goals
      */
-    private static Goal createOrGoal(JSONObject jsonGoal, JSONObject config) {
+    private static Goal createOrGoal(JSONObject jsonGoal, GameSettings config) {
+        return new OrGoal(createSubGoals(jsonGoal, config));
+    }
+
+    private static List<Goal> createSubGoals(JSONObject jsonGoal, GameSettings config) {
         JSONArray subgoals = jsonGoal.getJSONArray("subgoals");
-        Goal goal1 = createGoal(subgoals.getJSONObject(0), config);
-        Goal goal2 = createGoal(subgoals.getJSONObject(1), config);
-        return new OrGoal(goal1, goal2);
+        List<Goal> goals = new ArrayList<>();
+        for (int i = 0; i < subgoals.length(); i++)
+            goals.add(createGoal(subgoals.getJSONObject(i), config));
+        return goals;
     }
 
     /**
      * Create a treasure goal with the target from config
      */
-    private static Goal createTreasureGoal(JSONObject config) {
-        int treasureGoal = config.optInt("treasure_goal", 1);
-        return new TreasureGoal(treasureGoal);
+    private static Goal createTreasureGoal(GameSettings config) {
+        return new TreasureGoal(config.getTreasureGoal());
     }
 }
@@ -1,12 +1,17 @@
 package dungeonmania.goals;
 
 import dungeonmania.Game;
+import dungeonmania.entities.Entity;
+import dungeonmania.entities.collectables.Treasure;
+import dungeonmania.map.MapListener;
 
 /**
  * Concrete goal representing the requirement to collect a certain amount of treasure
  */
-public class TreasureGoal implements Goal {
+public class TreasureGoal implements Goal, MapListener {
     private final int target;
+    private Runnable onChange = () -> {
+    };
 
     /**
      * Create a treasure goal with the specified target
@@ -16,6 +21,19 @@ public class TreasureGoal implements Goal {
         this.target = target;
     }
 
+    @Override
+    public void attach(Game game, Runnable onChange) {
+        this.onChange = onChange;
+        game.getMap().registerMapListener(this);
+    }
+
+    /** Treasure leaves the map when it is collected, which is the only time the player's count can change */
+    @Override
+    public void notifyDestroyed(Entity entity) {
+        if (entity instanceof Treasure)
+            onChange.run();
+    }
+
     @Override
     public boolean achieved(Game game) {
         if (game.getPlayer() == null) {
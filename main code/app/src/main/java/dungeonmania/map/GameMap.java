@@ -1,15 +1,19 @@
 package dungeonmania.map;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import dungeonmania.Game;
 import dungeonmania.entities.Entity;
+import dungeonmania.entities.Exit;
+import dungeonmania.entities.Interactable;
 import dungeonmania.entities.Player;
 import dungeonmania.entities.Portal;
 import dungeonmania.entities.PotionListener;
@@ -20,6 +24,7 @@ import dungeonmania.entities.enemies.ZombieToastSpawner;
 import dungeonmania.entities.logical.LogicPropagator;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
+import dungeonmania.util.Viewport;
 
 /**
  * Class representing the map of the game
@@ -36,6 +41,12 @@ public class GameMap {
     private Game game;
     /** Reference to the game's player. */
     private Player player;
+    /** Objects tracking changes to the map, such as goals */
+    private List<MapListener> listeners = new ArrayList<>();
+    /** Largest interaction radius of any interactable entity added to the map */
+    private int interactionRadius = 0;
+    /** Exits and switches on the map, which goals refer to wherever they are */
+    private Set<Entity> landmarks = new LinkedHashSet<>();
 
     /**
      * Initialise the game map
@@ -44,20 +55,42 @@ public class GameMap {
      * 3. register all spawners
      * 4. register bombs and switches
      * 5. more...
+     *
+     * The entities each step needs are gathered in a single pass over the map.
      */
     public void init() {
-        initPairPortals();
-        initRegisterMovables();
-        initRegisterSpawners();
-        initRegisterBombsAndSwitches();
-        initPotionListeners();
+        List<Portal> portals = new ArrayList<>();
+        List<Enemy> enemies = new ArrayList<>();
+        List<ZombieToastSpawner> spawners = new ArrayList<>();
+        List<Bomb> bombs = new ArrayList<>();
+        List<Switch> switches = new ArrayList<>();
+        List<PotionListener> potionListeners = new ArrayList<>();
+        for (MapTile node : nodes.values()) {
+            for (Entity entity : node.getEntities()) {
+                if (entity instanceof Portal portal)
+                    portals.add(portal);
+                if (entity instanceof Enemy enemy)
+                    enemies.add(enemy);
+                if (entity instanceof ZombieToastSpawner spawner)
+                    spawners.add(spawner);
+                if (entity instanceof Bomb bomb)
+                    bombs.add(bomb);
+                if (entity instanceof Switch s)
+                    switches.add(s);
+                if (entity instanceof PotionListener listener)
+                    potionListeners.add(listener);
+            }
+        }
+        initPairPortals(portals);
+        initRegisterMovables(enemies);
+        initRegisterSpawners(spawners);
+        initRegisterBombsAndSwitches(bombs, switches);
+        initPotionListeners(potionListeners);
         initLogicalEntities();
     }
 
     /** Subscribe bombs and switches to each other */
-    private void initRegisterBombsAndSwitches() {
-        List<Bomb> bombs = getEntities(Bomb.class);
-        List<Switch> switchs = getEntities(Switch.class);
+    private void initRegisterBombsAndSwitches(List<Bomb> bombs, List<Switch> switchs) {
         for (Bomb b : bombs) {
             for (Switch s : switchs) {
                 if (Position.isAdjacent(b.getPosition(), s.getPosition())) {
@@ -68,23 +101,20 @@ public class GameMap {
     }
 
     /** Pair up portals if there's any */
-    private void initPairPortals() {
+    private void initPairPortals(List<Portal> portals) {
         Map<String, Portal> portalsMap = new HashMap<>();
-        nodes.forEach((k, v) -> {
-            v.getEntities().stream().filter(Portal.class::isInstance).map(Portal.class::cast).forEach(portal -> {
-                String color = portal.getColor();
-                if (portalsMap.containsKey(color)) {
-                    portal.bind(portalsMap.get(color));
-                } else {
-                    portalsMap.put(color, portal);
-                }
-            });
+        portals.forEach(portal -> {
+            String color = portal.getColor();
+            if (portalsMap.containsKey(color)) {
+                portal.bind(portalsMap.get(color));
+            } else {
+                portalsMap.put(color, portal);
+            }
         });
     }
 
     /** Register each enemy to move on each tick. */
-    private void initRegisterMovables() {
-        List<Enemy> enemies = getEntities(Enemy.class);
+    private void initRegisterMovables(List<Enemy> enemies) {
         enemies.forEach(e -> {
             game.register(() -> e.move(game), Game.AI_MOVEMENT, e.getId());
         });
@@ -94,18 +124,16 @@ public class GameMap {
      * Register each zombie toast spawner to attempt to spawn an enemy each tick as well as initialise the spider
      * spawning mechanic.
      */
-    private void initRegisterSpawners() {
-        List<ZombieToastSpawner> zts = getEntities(ZombieToastSpawner.class);
+    private void initRegisterSpawners(List<ZombieToastSpawner> zts) {
         zts.forEach(e -> {
             game.register(() -> e.spawn(game), Game.AI_MOVEMENT, e.getId());
         });
         game.register(() -> game.getEntityFactory().spawnSpider(game), Game.AI_MOVEMENT, "spawnSpiders");
     }
 
-    /** Initialise and register "potion listeners" to be responsive to player potion updates */
-    private void initPotionListeners() {
-        getEntities().stream().filter(PotionListener.class::isInstance).map(PotionListener.class::cast)
-                .forEach(this::registerPotionListener);
+    /** Register "potion listeners" to be responsive to player potion updates */
+    private void initPotionListeners(List<PotionListener> potionListeners) {
+        potionListeners.forEach(this::registerPotionListener);
     }
 
     /** Register logic updates to happen every tick */
@@ -118,6 +146,21 @@ public class GameMap {
         player.registerPotionListener(e);
     }
 
+    /** Register a listener to hear about changes to the map */
+    public void registerMapListener(MapListener listener) {
+        listeners.add(listener);
+    }
+
+    /** Tell listeners that the given entity has changed in a way that affects how it is shown */
+    public void notifyChanged(Entity entity) {
+        listeners.forEach(l -> l.notifyChanged(entity));
+    }
+
+    /** Tell listeners that the given switch has changed state */
+    public void notifySwitch(Switch s) {
+        listeners.forEach(l -> l.notifySwitch(s));
+    }
+
     /** Move an entity to a position */
     public void moveTo(Entity entity, Position position) {
         if (!canMoveTo(entity, position))
@@ -128,6 +171,7 @@ public class GameMap {
         entity.setPosition(position);
         addEntity(entity);
         triggerOverlapEvent(entity);
+        listeners.forEach(l -> l.notifyMoved(entity));
     }
 
     /** Move an entity in a given direction */
@@ -140,6 +184,7 @@ public class GameMap {
         entity.setPosition(newPosition);
         addEntity(entity);
         triggerOverlapEvent(entity);
+        listeners.forEach(l -> l.notifyMoved(entity));
     }
 
     /*
@@ -251,6 +296,8 @@ public class GameMap {
             if (nodes.get(p).size() == 0) {
                 nodes.remove(p);
             }
+            landmarks.remove(entity);
+            notifyChanged(entity);
         }
     }
 
@@ -265,6 +312,7 @@ public class GameMap {
     public void destroyEntity(Entity entity) {
         removeNode(entity);
         entity.onDestroy(this);
+        listeners.forEach(l -> l.notifyDestroyed(entity));
     }
 
     /**
@@ -291,6 +339,20 @@ public class GameMap {
             curr.mergeEntities(tile);
             nodes.put(p, curr);
         }
+        for (Entity entity : tile.getEntities()) {
+            if (entity instanceof Interactable interactable)
+                interactionRadius = Math.max(interactionRadius, interactable.getInteractionRadius());
+            if (entity instanceof Exit || entity instanceof Switch)
+                landmarks.add(entity);
+        }
+        if (!listeners.isEmpty())
+            tile.getEntities().forEach(this::notifyChanged);
+    }
+
+    /** Return whether the given entity is currently on the map */
+    public boolean contains(Entity entity) {
+        MapTile node = nodes.get(entity.getPosition());
+        return node != null && node.getEntities().contains(entity);
     }
 
     /**
@@ -319,6 +381,59 @@ public class GameMap {
         return (node != null) ? node.getEntities() : new ArrayList<>();
     }
 
+    /**
+     * Return a list of entities within `radius` steps of `centre`, ignoring walls. Only the tiles in range are looked
+     * at, so this is cheap for small radii however large the map is.
+     */
+    public List<Entity> getEntitiesWithin(Position centre, int radius) {
+        List<Entity> entities = new ArrayList<>();
+        for (int dx = -radius; dx <= radius; dx++) {
+            int reach = radius - Math.abs(dx);
+            for (int dy = -reach; dy <= reach; dy++) {
+                MapTile node = nodes.get(new Position(centre.getX() + dx, centre.getY() + dy));
+                if (node != null)
+                    entities.addAll(node.getEntities());
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Return a list of entities inside the given viewport. Tiles are looked up one by one when the viewport is smaller
+     * than the map, otherwise the map is scanned, so the cost is bounded by whichever is smaller.
+     */
+    public List<Entity> getEntitiesIn(Viewport viewport) {
+        List<Entity> entities = new ArrayList<>();
+        if (viewport.area() < nodes.size()) {
+            for (int x = viewport.getX(); x < viewport.getX() + viewport.getWidth(); x++) {
+                for (int y = viewport.getY(); y < viewport.getY() + viewport.getHeight(); y++) {
+                    MapTile node = nodes.get(new Position(x, y));
+                    if (node != null)
+                        entities.addAll(node.getEntities());
+                }
+            }
+        } else {
+            nodes.forEach((p, node) -> {
+                if (viewport.contains(p))
+                    entities.addAll(node.getEntities());
+            });
+        }
+        return entities;
+    }
+
+    /** Return the exits and switches on the map */
+    public Set<Entity> getLandmarks() {
+        return Collections.unmodifiableSet(landmarks);
+    }
+
+    /**
+     * Return the largest interaction radius of any interactable entity ever added to the map. No entity further than
+     * this from the player can be interactable.
+     */
+    public int getInteractionRadius() {
+        return interactionRadius;
+    }
+
     /** Return a list of all entities on the map */
     public List<Entity> getEntities() {
         List<Entity> entities = new ArrayList<>();
@@ -336,7 +451,14 @@ public class GameMap {
      * @return list of entities matching that type
      */
     public <T extends Entity> List<T> getEntities(Class<T> type) {
-        return getEntities().stream().filter(type::isInstance).map(type::cast).collect(Collectors.toList());
+        List<T> entities = new ArrayList<>();
+        for (MapTile node : nodes.values()) {
+            for (Entity entity : node.getEntities()) {
+                if (type.isInstance(entity))
+                    entities.add(type.cast(entity));
+            }
+        }
+        return entities;
     }
 
     public Player getPlayer() {
@@ -0,0 +1,29 @@
+package dungeonmania.map;
+
+import dungeonmania.entities.Entity;
+import dungeonmania.entities.Switch;
+
+/**
+ * Apply to objects which need to hear about changes to the map as they happen, rather than scanning the whole map
+ * every tick.
+ */
+public interface MapListener {
+    /** Called after an entity has moved to a new position */
+    public default void notifyMoved(Entity entity) {
+    }
+
+    /** Called after an entity has been removed from the map by being destroyed */
+    public default void notifyDestroyed(Entity entity) {
+    }
+
+    /**
+     * Called whenever an entity is added to or removed from a tile, or changes in a way that affects how it is shown,
+     * such as a door opening. An entity which moves is reported twice, once for each tile.
+     */
+    public default void notifyChanged(Entity entity) {
+    }
+
+    /** Called after a switch has been activated or deactivated */
+    public default void notifySwitch(Switch s) {
+    }
+}
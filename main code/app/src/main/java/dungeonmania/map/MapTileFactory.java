@@ -2,9 +2,11 @@ package dungeonmania.map;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.json.JSONObject;
 
+import dungeonmania.entities.Entity;
 import dungeonmania.entities.EntityFactory;
 
 /**
@@ -17,12 +19,17 @@ public class MapTileFactory {
             "light_bulb_off", "switch_door");
 
     public static MapTile createEntity(JSONObject jsonEntity, EntityFactory factory) {
-        return constructEntity(jsonEntity, factory);
+        return prepareTile(jsonEntity, factory).get();
     }
 
-    private static MapTile constructEntity(JSONObject jsonEntity, EntityFactory factory) {
+    /**
+     * Prepare to create the tile described by the given JSON. Each call of the returned supplier creates a new tile
+     * holding a new entity, without reading the JSON again.
+     */
+    public static Supplier<MapTile> prepareTile(JSONObject jsonEntity, EntityFactory factory) {
         if (VALID_ENTITIES.contains(jsonEntity.getString("type"))) {
-            return new MapTile(factory.createEntity(jsonEntity));
+            Supplier<Entity> entity = factory.prepareEntity(jsonEntity);
+            return () -> new MapTile(entity.get());
         } else {
             throw new IllegalArgumentException(
                     String.format("Failed to recognise '%s' entity in MapTileFactory", jsonEntity.getString("type")));
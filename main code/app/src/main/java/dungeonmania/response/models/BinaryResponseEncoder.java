@@ -0,0 +1,195 @@
+package dungeonmania.response.models;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Encodes the `DungeonResponse`s of one game in a compact binary format.
+ *
+ * Type names and entity IDs are each sent once per dictionary. The first frame to use a type name adds it to the
+ * dictionary, and the first frame to mention an entity assigns it the next handle, after which both are referred to
+ * by index. Frames must therefore be decoded in the order they were encoded.
+ *
+ * A keyframe starts a new dictionary, and with it a new epoch. The first frame of a game is a keyframe, and a client
+ * which has lost track of the dictionary (e.g. it reconnected, or missed a frame) can ask for another through
+ * `requestKeyframe`. Every frame carries its epoch, so a decoder can tell a frame doesn't belong to its dictionary.
+ *
+ * <pre>
+ * frame     := MAGIC VERSION flags varint epoch [string dungeonId, string dungeonName if flags &amp; HEADER]
+ *              list(string newTypes) list(string newHandleIds)
+ *              list(entity) list(item) list(battle) list(varint buildableType) string goals list(animation)
+ * entity    := varint handle, varint (type &lt;&lt; 1 | isInteractable), zigzag x, zigzag y, varint layer
+ * item      := varint handle, varint type
+ * battle    := varint enemyType, double initialPlayerHealth, double initialEnemyHealth, list(item), list(round)
+ * round     := double deltaPlayerHealth, double deltaEnemyHealth
+ * animation := string when, string entityId, list(string) queue, byte loop, double duration
+ * list(x)   := varint (count + 1), count * x         -- 0 for a null list
+ * string    := varint (length + 1), UTF-8 bytes      -- 0 for a null string
+ * double    := 8 bytes, big endian IEEE 754
+ * </pre>
+ *
+ * New type names and handles are listed in the order they were assigned, ahead of the data which uses them.
+ */
+public class BinaryResponseEncoder {
+    public static final String CONTENT_TYPE = "application/vnd.dungeonmania.binary";
+    public static final int MAGIC = 0xD7;
+    public static final int VERSION = 2;
+    /** Flag set on keyframes, which start a new dictionary and also carry the dungeon's ID and name */
+    public static final int HEADER = 1;
+
+    private final Map<String, Integer> types = new HashMap<>();
+    private final Map<String, Integer> handles = new HashMap<>();
+    private boolean keyframeRequested = true;
+    private int epoch = -1;
+
+    /** Buffers for the frame being encoded, kept between frames to avoid reallocating them */
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+    private final Output out = new Output();
+    private final List<String> newTypes = new ArrayList<>();
+    private final List<String> newHandles = new ArrayList<>();
+
+    /** Make the next frame a keyframe, so it can be decoded without any of the frames before it */
+    public void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    /** Encode the next response of this encoder's game */
+    public byte[] encode(DungeonResponse response) {
+        boolean keyframe = keyframeRequested;
+        keyframeRequested = false;
+        if (keyframe) {
+            types.clear();
+            handles.clear();
+            epoch++;
+        }
+        body.reset();
+        newTypes.clear();
+        newHandles.clear();
+
+        // Encode the body first, so the dictionary entries it needs are known for the frame's preamble
+        out.target = body;
+        out.list(response.getEntities(), entity -> {
+            out.varint(handle(entity.getId()));
+            out.varint((type(entity.getType()) << 1) | (entity.isInteractable() ? 1 : 0));
+            out.zigzag(entity.getPosition().getX());
+            out.zigzag(entity.getPosition().getY());
+            out.varint(entity.getPosition().getLayer());
+        });
+        out.list(response.getInventory(), this::item);
+        out.list(response.getBattles(), battle -> {
+            out.varint(type(battle.getEnemy()));
+            out.float64(battle.getInitialPlayerHealth());
+            out.float64(battle.getInitialEnemyHealth());
+            out.list(battle.getBattleItems(), this::item);
+            out.list(battle.getRounds(), round -> {
+                out.float64(round.getDeltaCharacterHealth());
+                out.float64(round.getDeltaEnemyHealth());
+            });
+        });
+        out.list(response.getBuildables(), buildable -> out.varint(type(buildable)));
+        out.string(response.getGoals());
+        out.list(response.getAnimations(), animation -> {
+            out.string(animation.getWhen());
+            out.string(animation.getEntityId());
+            out.list(animation.getQueue(), out::string);
+            out.target.write(animation.isLoop() ? 1 : 0);
+            out.float64(animation.getDuration());
+        });
+
+        frame.reset();
+        out.target = frame;
+        frame.write(MAGIC);
+        frame.write(VERSION);
+        frame.write(keyframe ? HEADER : 0);
+        out.varint(epoch);
+        if (keyframe) {
+            out.string(response.getDungeonId());
+            out.string(response.getDungeonName());
+        }
+        out.list(newTypes, out::string);
+        out.list(newHandles, out::string);
+        try {
+            body.writeTo(frame);
+        } catch (IOException e) {
+            // Only possible for streams other than ByteArrayOutputStream
+            throw new UncheckedIOException(e);
+        }
+        return frame.toByteArray();
+    }
+
+    private void item(ItemResponse item) {
+        out.varint(handle(item.getId()));
+        out.varint(type(item.getType()));
+    }
+
+    private int type(String type) {
+        Integer index = types.get(type);
+        if (index == null) {
+            index = types.size();
+            types.put(type, index);
+            newTypes.add(type);
+        }
+        return index;
+    }
+
+    private int handle(String id) {
+        Integer handle = handles.get(id);
+        if (handle == null) {
+            handle = handles.size();
+            handles.put(id, handle);
+            newHandles.add(id);
+        }
+        return handle;
+    }
+
+    /** Writes the primitive values of the format */
+    private static final class Output {
+        private ByteArrayOutputStream target;
+
+        void varint(int value) {
+            while ((value & ~0x7F) != 0) {
+                target.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            target.write(value);
+        }
+
+        void zigzag(int value) {
+            varint((value << 1) ^ (value >> 31));
+        }
+
+        void float64(double value) {
+            long bits = Double.doubleToLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8)
+                target.write((int) (bits >>> shift));
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1);
+            target.write(bytes, 0, bytes.length);
+        }
+
+        <T> void list(List<T> list, Consumer<T> writer) {
+            if (list == null) {
+                varint(0);
+                return;
+            }
+            varint(list.size() + 1);
+            for (T element : list)
+                writer.accept(element);
+        }
+    }
+}
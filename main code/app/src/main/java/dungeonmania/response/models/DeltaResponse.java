@@ -0,0 +1,89 @@
+package dungeonmania.response.models;
+
+import java.util.List;
+
+/**
+ * The changes to a dungeon since the previous delta response, for clients which keep their own copy of the map.
+ *
+ * A keyframe lists every entity under `added`, and the client should discard whatever it had before applying it.
+ * Otherwise `added` and `updated` hold the new state of entities which appeared, moved or changed (such as a door
+ * opening or a light bulb turning on), and `removed` holds the IDs of entities which left the map.
+ *
+ * `inventory` and `buildables` are `null` when they have not changed since the previous response, and `battles` only
+ * holds battles fought since then.
+ */
+public final class DeltaResponse {
+    private final String dungeonId;
+    private final String dungeonName;
+    private final int tick;
+    private final boolean keyframe;
+    private final List<EntityResponse> added;
+    private final List<EntityResponse> updated;
+    private final List<String> removed;
+    private final List<ItemResponse> inventory;
+    private final List<BattleResponse> battles;
+    private final List<String> buildables;
+    private final String goals;
+
+    public DeltaResponse(String dungeonId, String dungeonName, int tick, boolean keyframe, List<EntityResponse> added,
+            List<EntityResponse> updated, List<String> removed, List<ItemResponse> inventory,
+            List<BattleResponse> battles, List<String> buildables, String goals) {
+        this.dungeonId = dungeonId;
+        this.dungeonName = dungeonName;
+        this.tick = tick;
+        this.keyframe = keyframe;
+        this.added = added;
+        this.updated = updated;
+        this.removed = removed;
+        this.inventory = inventory;
+        this.battles = battles;
+        this.buildables = buildables;
+        this.goals = goals;
+    }
+
+    public String getDungeonId() {
+        return dungeonId;
+    }
+
+    public String getDungeonName() {
+        return dungeonName;
+    }
+
+    /** The game tick this response describes */
+    public int getTick() {
+        return tick;
+    }
+
+    /** Whether this response describes the whole map rather than changes to it */
+    public boolean isKeyframe() {
+        return keyframe;
+    }
+
+    public List<EntityResponse> getAdded() {
+        return added;
+    }
+
+    public List<EntityResponse> getUpdated() {
+        return updated;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public List<ItemResponse> getInventory() {
+        return inventory;
+    }
+
+    public List<BattleResponse> getBattles() {
+        return battles;
+    }
+
+    public List<String> getBuildables() {
+        return buildables;
+    }
+
+    public String getGoals() {
+        return goals;
+    }
+}
@@ -0,0 +1,158 @@
+package dungeonmania.response.models;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dungeonmania.Game;
+import dungeonmania.entities.Entity;
+import dungeonmania.entities.Interactable;
+import dungeonmania.entities.Player;
+import dungeonmania.entities.inventory.Inventory;
+import dungeonmania.map.GameMap;
+import dungeonmania.map.MapListener;
+
+/**
+ * Builds `DeltaResponse`s for one game.
+ *
+ * The tracker listens to the game's map and remembers which entities have been added, removed, moved or changed
+ * since the previous response, so only those entities need a new `EntityResponse`. Whether the player can interact
+ * with an entity depends on the player rather than on the entity itself, so interactable entities within the map's
+ * interaction radius of the player are re-checked every time, along with any last sent as interactable. Every
+ * `keyframeInterval` ticks a keyframe describing the whole map is sent instead, so that a client which has fallen out
+ * of step recovers.
+ */
+public class DeltaTracker implements MapListener {
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 100;
+
+    private final Game game;
+    private final int keyframeInterval;
+    /** Entities which may have changed since the previous response */
+    private Set<Entity> dirty = new LinkedHashSet<>();
+    /** The last response sent for each entity on the map, by entity ID */
+    private Map<String, EntityResponse> sent = new HashMap<>();
+    /** Entities last sent as interactable */
+    private Set<Entity> interactable = new LinkedHashSet<>();
+    private int lastKeyframe = 0;
+    private boolean keyframeRequested = true;
+    private long inventoryVersion = -1;
+    private long buildablesVersion = -1;
+    private int battlesSent = 0;
+
+    public DeltaTracker(Game game) {
+        this(game, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public DeltaTracker(Game game, int keyframeInterval) {
+        this.game = game;
+        this.keyframeInterval = keyframeInterval;
+        game.getMap().registerMapListener(this);
+    }
+
+    @Override
+    public void notifyChanged(Entity entity) {
+        dirty.add(entity);
+    }
+
+    /** Make the next response a keyframe */
+    public void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    /** Return the changes since the previous call */
+    public DeltaResponse next() {
+        boolean keyframe = keyframeRequested || game.getTick() - lastKeyframe >= keyframeInterval;
+        List<EntityResponse> added = new ArrayList<>();
+        List<EntityResponse> updated = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+
+        if (keyframe) {
+            sent.clear();
+            interactable.clear();
+            game.getMap().getEntities().forEach(e -> {
+                EntityResponse response = ResponseBuilder.getEntityResponse(game, e);
+                sent.put(e.getId(), response);
+                added.add(response);
+                if (response.isInteractable())
+                    interactable.add(e);
+            });
+            lastKeyframe = game.getTick();
+            keyframeRequested = false;
+        } else {
+            GameMap map = game.getMap();
+            dirty.forEach(e -> {
+                if (!map.contains(e)) {
+                    interactable.remove(e);
+                    if (sent.remove(e.getId()) != null)
+                        removed.add(e.getId());
+                } else {
+                    diff(e, added, updated);
+                }
+            });
+            recheck().stream().filter(e -> !dirty.contains(e)).forEach(e -> diff(e, added, updated));
+        }
+        dirty.clear();
+
+        return new DeltaResponse(game.getId(), game.getName(), game.getTick(), keyframe, added, updated, removed,
+                inventoryDelta(keyframe), battlesDelta(keyframe), buildablesDelta(keyframe),
+                (game.getGoals().achieved(game)) ? "" : game.getGoals().toString(game));
+    }
+
+    /** Return the entities whose interactability may have changed without the map hearing about it */
+    private Set<Entity> recheck() {
+        Set<Entity> entities = new LinkedHashSet<>(interactable);
+        Player player = game.getPlayer();
+        if (player != null) {
+            GameMap map = game.getMap();
+            map.getEntitiesWithin(player.getPosition(), map.getInteractionRadius()).stream()
+                    .filter(Interactable.class::isInstance).forEach(entities::add);
+        }
+        return entities;
+    }
+
+    /** Record the current state of an entity on the map, noting it as added or updated if it differs */
+    private void diff(Entity entity, List<EntityResponse> added, List<EntityResponse> updated) {
+        EntityResponse response = ResponseBuilder.getEntityResponse(game, entity);
+        if (response.isInteractable())
+            interactable.add(entity);
+        else
+            interactable.remove(entity);
+        EntityResponse previous = sent.put(entity.getId(), response);
+        if (previous == null)
+            added.add(response);
+        else if (!previous.equals(response))
+            updated.add(response);
+    }
+
+    private List<ItemResponse> inventoryDelta(boolean keyframe) {
+        Player player = game.getPlayer();
+        if (player == null)
+            return null;
+        Inventory inventory = player.getInventory();
+        if (!keyframe && inventory.getVersion() == inventoryVersion)
+            return null;
+        inventoryVersion = inventory.getVersion();
+        return ResponseBuilder.getInventoryResponse(inventory);
+    }
+
+    private List<String> buildablesDelta(boolean keyframe) {
+        Player player = game.getPlayer();
+        if (player == null)
+            return null;
+        Inventory inventory = player.getInventory();
+        if (!keyframe && inventory.getBuildablesVersion() == buildablesVersion)
+            return null;
+        buildablesVersion = inventory.getBuildablesVersion();
+        return inventory.getBuildables();
+    }
+
+    private List<BattleResponse> battlesDelta(boolean keyframe) {
+        List<BattleResponse> battles = game.getBattleFacade().getBattleResponses();
+        List<BattleResponse> fresh = new ArrayList<>(battles.subList(keyframe ? 0 : battlesSent, battles.size()));
+        battlesSent = battles.size();
+        return fresh;
+    }
+}
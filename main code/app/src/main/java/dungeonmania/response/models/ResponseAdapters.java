@@ -0,0 +1,441 @@
+package dungeonmania.response.models;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import dungeonmania.util.Position;
+
+/**
+ * Hand-written Gson type adapters for the response models.
+ *
+ * Gson serialises objects reflectively by default, looking up and reading every field through reflection. These
+ * adapters write each field directly through its getter instead. The JSON is exactly what the reflective adapters
+ * produce, field order included, and every adapter except the one for `GenericResponseWrapper` can read it back.
+ */
+public final class ResponseAdapters {
+    public static final TypeAdapter<Position> POSITION = new TypeAdapter<Position>() {
+        @Override
+        public void write(JsonWriter out, Position position) throws IOException {
+            out.beginObject();
+            out.name("x").value(position.getX());
+            out.name("y").value(position.getY());
+            out.name("layer").value(position.getLayer());
+            out.endObject();
+        }
+
+        @Override
+        public Position read(JsonReader in) throws IOException {
+            int x = 0;
+            int y = 0;
+            int layer = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "x" -> x = in.nextInt();
+                case "y" -> y = in.nextInt();
+                case "layer" -> layer = in.nextInt();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Position(x, y, layer);
+        }
+    }.nullSafe();
+
+    public static final TypeAdapter<EntityResponse> ENTITY = new TypeAdapter<EntityResponse>() {
+        @Override
+        public void write(JsonWriter out, EntityResponse entity) throws IOException {
+            out.beginObject();
+            out.name("id").value(entity.getId());
+            out.name("type").value(entity.getType());
+            out.name("position");
+            POSITION.write(out, entity.getPosition());
+            out.name("isInteractable").value(entity.isInteractable());
+            out.endObject();
+        }
+
+        @Override
+        public EntityResponse read(JsonReader in) throws IOException {
+            String id = null;
+            String type = null;
+            Position position = null;
+            boolean isInteractable = false;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "id" -> id = readString(in);
+                case "type" -> type = readString(in);
+                case "position" -> position = POSITION.read(in);
+                case "isInteractable" -> isInteractable = in.nextBoolean();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new EntityResponse(id, type, position, isInteractable);
+        }
+    }.nullSafe();
+
+    public static final TypeAdapter<ItemResponse> ITEM = new TypeAdapter<ItemResponse>() {
+        @Override
+        public void write(JsonWriter out, ItemResponse item) throws IOException {
+            out.beginObject();
+            out.name("id").value(item.getId());
+            out.name("type").value(item.getType());
+            out.endObject();
+        }
+
+        @Override
+        public ItemResponse read(JsonReader in) throws IOException {
+            String id = null;
+            String type = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "id" -> id = readString(in);
+                case "type" -> type = readString(in);
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ItemResponse(id, type);
+        }
+    }.nullSafe();
+
+    public static final TypeAdapter<RoundResponse> ROUND = new TypeAdapter<RoundResponse>() {
+        @Override
+        public void write(JsonWriter out, RoundResponse round) throws IOException {
+            out.beginObject();
+            out.name("deltaPlayerHealth").value(round.getDeltaCharacterHealth());
+            out.name("deltaEnemyHealth").value(round.getDeltaEnemyHealth());
+            out.endObject();
+        }
+
+        @Override
+        public RoundResponse read(JsonReader in) throws IOException {
+            double deltaPlayerHealth = 0;
+            double deltaEnemyHealth = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "deltaPlayerHealth" -> deltaPlayerHealth = in.nextDouble();
+                case "deltaEnemyHealth" -> deltaEnemyHealth = in.nextDouble();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new RoundResponse(deltaPlayerHealth, deltaEnemyHealth);
+        }
+    }.nullSafe();
+
+    public static final TypeAdapter<BattleResponse> BATTLE = new TypeAdapter<BattleResponse>() {
+        @Override
+        public void write(JsonWriter out, BattleResponse battle) throws IOException {
+            out.beginObject();
+            out.name("enemy").value(battle.getEnemy());
+            out.name("initialPlayerHealth").value(battle.getInitialPlayerHealth());
+            out.name("initialEnemyHealth").value(battle.getInitialEnemyHealth());
+            out.name("battleItems");
+            writeList(out, battle.getBattleItems(), ITEM);
+            out.name("rounds");
+            writeList(out, battle.getRounds(), ROUND);
+            out.endObject();
+        }
+
+        @Override
+        public BattleResponse read(JsonReader in) throws IOException {
+            String enemy = null;
+            double initialPlayerHealth = 0;
+            double initialEnemyHealth = 0;
+            List<ItemResponse> battleItems = null;
+            List<RoundResponse> rounds = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "enemy" -> enemy = readString(in);
+                case "initialPlayerHealth" -> initialPlayerHealth = in.nextDouble();
+                case "initialEnemyHealth" -> initialEnemyHealth = in.nextDouble();
+                case "battleItems" -> battleItems = readList(in, ITEM);
+                case "rounds" -> rounds = readList(in, ROUND);
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new BattleResponse(enemy, rounds, battleItems, initialPlayerHealth, initialEnemyHealth);
+        }
+    }.nullSafe();
+
+    public static final TypeAdapter<AnimationQueue> ANIMATION = new TypeAdapter<AnimationQueue>() {
+        @Override
+        public void write(JsonWriter out, AnimationQueue animation) throws IOException {
+            out.beginObject();
+            out.name("when").value(animation.getWhen());
+            out.name("entityId").value(animation.getEntityId());
+            out.name("queue");
+            writeList(out, animation.getQueue(), STRING);
+            out.name("loop").value(animation.isLoop());
+            out.name("duration").value(animation.getDuration());
+            out.endObject();
+        }
+
+        @Override
+        public AnimationQueue read(JsonReader in) throws IOException {
+            String when = null;
+            String entityId = null;
+            List<String> queue = null;
+            boolean loop = false;
+            double duration = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "when" -> when = readString(in);
+                case "entityId" -> entityId = readString(in);
+                case "queue" -> queue = readList(in, STRING);
+                case "loop" -> loop = in.nextBoolean();
+                case "duration" -> duration = in.nextDouble();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new AnimationQueue(when, entityId, queue, loop, duration);
+        }
+    }.nullSafe();
+
+    public static final TypeAdapter<DungeonResponse> DUNGEON = new TypeAdapter<DungeonResponse>() {
+        @Override
+        public void write(JsonWriter out, DungeonResponse dungeon) throws IOException {
+            out.beginObject();
+            out.name("dungeonId").value(dungeon.getDungeonId());
+            out.name("dungeonName").value(dungeon.getDungeonName());
+            out.name("entities");
+            writeList(out, dungeon.getEntities(), ENTITY);
+            out.name("inventory");
+            writeList(out, dungeon.getInventory(), ITEM);
+            out.name("battles");
+            writeList(out, dungeon.getBattles(), BATTLE);
+            out.name("buildables");
+            writeList(out, dungeon.getBuildables(), STRING);
+            out.name("goals").value(dungeon.getGoals());
+            out.name("animations");
+            writeList(out, dungeon.getAnimations(), ANIMATION);
+            out.endObject();
+        }
+
+        @Override
+        public DungeonResponse read(JsonReader in) throws IOException {
+            String dungeonId = null;
+            String dungeonName = null;
+            List<EntityResponse> entities = null;
+            List<ItemResponse> inventory = null;
+            List<BattleResponse> battles = null;
+            List<String> buildables = null;
+            String goals = null;
+            List<AnimationQueue> animations = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "dungeonId" -> dungeonId = readString(in);
+                case "dungeonName" -> dungeonName = readString(in);
+                case "entities" -> entities = readList(in, ENTITY);
+                case "inventory" -> inventory = readList(in, ITEM);
+                case "battles" -> battles = readList(in, BATTLE);
+                case "buildables" -> buildables = readList(in, STRING);
+                case "goals" -> goals = readString(in);
+                case "animations" -> animations = readList(in, ANIMATION);
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new DungeonResponse(dungeonId, dungeonName, entities, inventory, battles, buildables, goals,
+                    animations);
+        }
+    }.nullSafe();
+
+    public static final TypeAdapter<DeltaResponse> DELTA = new TypeAdapter<DeltaResponse>() {
+        @Override
+        public void write(JsonWriter out, DeltaResponse delta) throws IOException {
+            out.beginObject();
+            out.name("dungeonId").value(delta.getDungeonId());
+            out.name("dungeonName").value(delta.getDungeonName());
+            out.name("tick").value(delta.getTick());
+            out.name("keyframe").value(delta.isKeyframe());
+            out.name("added");
+            writeList(out, delta.getAdded(), ENTITY);
+            out.name("updated");
+            writeList(out, delta.getUpdated(), ENTITY);
+            out.name("removed");
+            writeList(out, delta.getRemoved(), STRING);
+            out.name("inventory");
+            writeList(out, delta.getInventory(), ITEM);
+            out.name("battles");
+            writeList(out, delta.getBattles(), BATTLE);
+            out.name("buildables");
+            writeList(out, delta.getBuildables(), STRING);
+            out.name("goals").value(delta.getGoals());
+            out.endObject();
+        }
+
+        @Override
+        public DeltaResponse read(JsonReader in) throws IOException {
+            String dungeonId = null;
+            String dungeonName = null;
+            int tick = 0;
+            boolean keyframe = false;
+            List<EntityResponse> added = null;
+            List<EntityResponse> updated = null;
+            List<String> removed = null;
+            List<ItemResponse> inventory = null;
+            List<BattleResponse> battles = null;
+            List<String> buildables = null;
+            String goals = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "dungeonId" -> dungeonId = readString(in);
+                case "dungeonName" -> dungeonName = readString(in);
+                case "tick" -> tick = in.nextInt();
+                case "keyframe" -> keyframe = in.nextBoolean();
+                case "added" -> added = readList(in, ENTITY);
+                case "updated" -> updated = readList(in, ENTITY);
+                case "removed" -> removed = readList(in, STRING);
+                case "inventory" -> inventory = readList(in, ITEM);
+                case "battles" -> battles = readList(in, BATTLE);
+                case "buildables" -> buildables = readList(in, STRING);
+                case "goals" -> goals = readString(in);
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new DeltaResponse(dungeonId, dungeonName, tick, keyframe, added, updated, removed, inventory,
+                    battles, buildables, goals);
+        }
+    }.nullSafe();
+
+    /**
+     * Creates the adapters above, plus one for `GenericResponseWrapper` which hands its result to whichever adapter
+     * Gson has for the result's type.
+     */
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Class<? super T> raw = type.getRawType();
+            if (raw == GenericResponseWrapper.class)
+                return (TypeAdapter<T>) wrapperAdapter(gson, this, type);
+            if (raw == DungeonResponse.class)
+                return (TypeAdapter<T>) DUNGEON;
+            if (raw == DeltaResponse.class)
+                return (TypeAdapter<T>) DELTA;
+            if (raw == EntityResponse.class)
+                return (TypeAdapter<T>) ENTITY;
+            if (raw == ItemResponse.class)
+                return (TypeAdapter<T>) ITEM;
+            if (raw == BattleResponse.class)
+                return (TypeAdapter<T>) BATTLE;
+            if (raw == RoundResponse.class)
+                return (TypeAdapter<T>) ROUND;
+            if (raw == AnimationQueue.class)
+                return (TypeAdapter<T>) ANIMATION;
+            if (raw == Position.class)
+                return (TypeAdapter<T>) POSITION;
+            return null;
+        }
+    };
+
+    private static final TypeAdapter<String> STRING = new TypeAdapter<String>() {
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(value);
+        }
+
+        @Override
+        public String read(JsonReader in) throws IOException {
+            return readString(in);
+        }
+    };
+
+    private ResponseAdapters() {
+    }
+
+    /** Register the response adapters on the given builder */
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder.registerTypeAdapterFactory(FACTORY);
+    }
+
+    /**
+     * Wrappers are written field by field through the result's adapter. They can only be built through `ok` and
+     * `err`, which can't recreate an error's title, so they are read by the adapter Gson would otherwise have used.
+     * @param factory The factory creating the adapter, skipped when finding the one to read with
+     */
+    private static TypeAdapter<GenericResponseWrapper<?>> wrapperAdapter(Gson gson, TypeAdapterFactory factory,
+            TypeToken<?> type) {
+        // A raw GenericResponseWrapper is treated like GenericResponseWrapper<Object>, which Gson serialises using
+        // the runtime type of the result
+        Type resultType = (type.getType() instanceof ParameterizedType parameterized)
+                ? parameterized.getActualTypeArguments()[0]
+                : Object.class;
+        @SuppressWarnings("unchecked")
+        TypeAdapter<Object> resultAdapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(resultType));
+        TypeAdapter<?> reader = gson.getDelegateAdapter(factory, type);
+        return new TypeAdapter<GenericResponseWrapper<?>>() {
+            @Override
+            public void write(JsonWriter out, GenericResponseWrapper<?> wrapper) throws IOException {
+                out.beginObject();
+                out.name("result");
+                resultAdapter.write(out, wrapper.getResult());
+                out.name("errorTitle").value(wrapper.getErrorTitle());
+                out.name("errorMessage").value(wrapper.getErrorMessage());
+                out.name("isError").value(wrapper.isError());
+                out.endObject();
+            }
+
+            @Override
+            public GenericResponseWrapper<?> read(JsonReader in) throws IOException {
+                return (GenericResponseWrapper<?>) reader.read(in);
+            }
+        }.nullSafe();
+    }
+
+    private static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> adapter) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T element : list)
+            adapter.write(out, element);
+        out.endArray();
+    }
+
+    private static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext())
+            list.add(adapter.read(in));
+        in.endArray();
+        return list;
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
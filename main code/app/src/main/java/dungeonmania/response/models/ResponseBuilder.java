@@ -1,15 +1,21 @@
 package dungeonmania.response.models;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import dungeonmania.Game;
 import dungeonmania.battles.BattleRound;
 import dungeonmania.entities.Entity;
 import dungeonmania.entities.Interactable;
+import dungeonmania.entities.Player;
 import dungeonmania.entities.inventory.Inventory;
+import dungeonmania.map.GameMap;
 import dungeonmania.util.NameConverter;
+import dungeonmania.util.Position;
+import dungeonmania.util.Viewport;
 
 /**
  * Functions used to build responses sent by the web server.
@@ -20,8 +26,17 @@ import dungeonmania.util.NameConverter;
 public class ResponseBuilder {
     /** Return the overall state of the dungeon */
     public static DungeonResponse getDungeonResponse(Game game) {
-        List<EntityResponse> entityResponse = new ArrayList<>();
-        game.getMap().getEntities().forEach(e -> {
+        return getDungeonResponse(game, null);
+    }
+
+    /**
+     * Return the state of the dungeon as seen through the given viewport, or the whole dungeon if it is `null`. See
+     * `getVisibleEntities`.
+     */
+    public static DungeonResponse getDungeonResponse(Game game, Viewport viewport) {
+        List<Entity> entities = getVisibleEntities(game, viewport);
+        List<EntityResponse> entityResponse = new ArrayList<>(entities.size());
+        entities.forEach(e -> {
             entityResponse.add(ResponseBuilder.getEntityResponse(game, e));
         });
         return new DungeonResponse(game.getId(), game.getName(), entityResponse,
@@ -31,8 +46,25 @@ public class ResponseBuilder {
                 (game.getGoals().achieved(game)) ? "" : game.getGoals().toString(game));
     }
 
+    /**
+     * Return the entities a client displaying the given viewport needs: those inside it, along with the player and
+     * the exits and switches, which goals refer to wherever they are. Returns every entity if `viewport` is `null`.
+     */
+    public static List<Entity> getVisibleEntities(Game game, Viewport viewport) {
+        GameMap map = game.getMap();
+        if (viewport == null)
+            return map.getEntities();
+
+        Set<Entity> visible = new LinkedHashSet<>(map.getEntitiesIn(viewport));
+        Player player = game.getPlayer();
+        if (player != null && map.contains(player))
+            visible.add(player);
+        visible.addAll(map.getLandmarks());
+        return new ArrayList<>(visible);
+    }
+
     /** Return the state of the inventory */
-    private static List<ItemResponse> getInventoryResponse(Inventory inventory) {
+    public static List<ItemResponse> getInventoryResponse(Inventory inventory) {
         return inventory.getEntities().stream().map(ResponseBuilder::getItemResponse).collect(Collectors.toList());
     }
 
@@ -41,10 +73,38 @@ public class ResponseBuilder {
         return new ItemResponse(entity.getId(), NameConverter.toSnakeCase(entity));
     }
 
-    /** Return entity info for the given entity */
+    /**
+     * Return entity info for the given entity.
+     *
+     * The response is cached on the entity. It is rebuilt only once the entity has moved, or its type name (e.g. an
+     * opened door) or interactability differs, so unchanged entities cost no allocation.
+     */
     public static EntityResponse getEntityResponse(Game game, Entity entity) {
-        return new EntityResponse(entity.getId(), NameConverter.toSnakeCase(entity), entity.getPosition(),
-                (entity instanceof Interactable interactable) && interactable.isInteractable(game.getPlayer()));
+        String type = NameConverter.toSnakeCase(entity);
+        boolean isInteractable = isInteractable(game, entity);
+        EntityResponse cached = entity.getCachedResponse();
+        if (cached != null && cached.getType().equals(type) && cached.isInteractable() == isInteractable)
+            return cached;
+
+        EntityResponse response = new EntityResponse(entity.getId(), type, entity.getPosition(), isInteractable);
+        entity.setCachedResponse(response);
+        return response;
+    }
+
+    /**
+     * Return whether the player can interact with the given entity. Entities further from the player than the map's
+     * interaction radius can't be, so they aren't asked.
+     */
+    public static boolean isInteractable(Game game, Entity entity) {
+        if (!(entity instanceof Interactable interactable))
+            return false;
+        Player player = game.getPlayer();
+        if (player == null)
+            return false;
+        Position playerPos = player.getPosition();
+        Position pos = entity.getPosition();
+        int distance = Math.abs(playerPos.getX() - pos.getX()) + Math.abs(playerPos.getY() - pos.getY());
+        return distance <= game.getMap().getInteractionRadius() && interactable.isInteractable(player);
     }
 
     /** Return info about a round of battle */
@@ -0,0 +1,146 @@
+package dungeonmania.response.models;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.google.gson.stream.JsonWriter;
+
+import dungeonmania.Game;
+import dungeonmania.entities.Entity;
+import dungeonmania.entities.Player;
+import dungeonmania.util.NameConverter;
+import dungeonmania.util.Viewport;
+
+/**
+ * Writes the state of a game as JSON straight to an output stream.
+ *
+ * The output is the same as serialising `GenericResponseWrapper.ok(ResponseBuilder.getDungeonResponse(game))` with
+ * Gson, but it is produced by walking the game itself, so no `EntityResponse`s or intermediate string are created.
+ * Each thread keeps one buffered writer which is pointed at a new output stream for every response.
+ */
+public final class ResponseWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ResponseWriter> WRITERS = ThreadLocal.withInitial(ResponseWriter::new);
+
+    private final TargetStream target = new TargetStream();
+    private final Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8),
+            BUFFER_SIZE);
+
+    private ResponseWriter() {
+    }
+
+    /**
+     * Write the state of the given game to `out`, wrapped as a successful response. The stream is flushed but not
+     * closed.
+     */
+    public static void writeDungeonResponse(Game game, OutputStream out) throws IOException {
+        writeDungeonResponse(game, null, out);
+    }
+
+    /**
+     * Write the state of the given game as seen through `viewport` to `out`, like
+     * `ResponseBuilder.getDungeonResponse(game, viewport)`. The whole game is written if `viewport` is `null`.
+     */
+    public static void writeDungeonResponse(Game game, Viewport viewport, OutputStream out) throws IOException {
+        ResponseWriter responseWriter = WRITERS.get();
+        try {
+            responseWriter.write(game, viewport, out);
+        } catch (IOException | RuntimeException e) {
+            // The buffer may still hold part of this response, so don't reuse it
+            WRITERS.remove();
+            throw e;
+        }
+    }
+
+    private void write(Game game, Viewport viewport, OutputStream out) throws IOException {
+        target.out = out;
+        try {
+            JsonWriter json = new JsonWriter(writer);
+            json.setSerializeNulls(false);
+            json.beginObject();
+            json.name("result");
+            writeDungeon(json, game, viewport);
+            json.name("isError").value(false);
+            json.endObject();
+            json.flush();
+        } finally {
+            target.out = null;
+        }
+    }
+
+    private static void writeDungeon(JsonWriter json, Game game, Viewport viewport) throws IOException {
+        Player player = game.getPlayer();
+        json.beginObject();
+        json.name("dungeonId").value(game.getId());
+        json.name("dungeonName").value(game.getName());
+
+        json.name("entities").beginArray();
+        for (Entity entity : ResponseBuilder.getVisibleEntities(game, viewport)) {
+            json.beginObject();
+            json.name("id").value(entity.getId());
+            json.name("type").value(NameConverter.toSnakeCase(entity));
+            json.name("position");
+            ResponseAdapters.POSITION.write(json, entity.getPosition());
+            json.name("isInteractable").value(ResponseBuilder.isInteractable(game, entity));
+            json.endObject();
+        }
+        json.endArray();
+
+        if (player != null) {
+            json.name("inventory");
+            writeItems(json, player.getInventory().getEntities());
+        }
+
+        json.name("battles").beginArray();
+        for (BattleResponse battle : game.getBattleFacade().getBattleResponses())
+            ResponseAdapters.BATTLE.write(json, battle);
+        json.endArray();
+
+        if (player != null) {
+            json.name("buildables").beginArray();
+            for (String buildable : player.getBuildables())
+                json.value(buildable);
+            json.endArray();
+        }
+
+        json.name("goals").value((game.getGoals().achieved(game)) ? "" : game.getGoals().toString(game));
+        json.name("animations").beginArray().endArray();
+        json.endObject();
+    }
+
+    private static void writeItems(JsonWriter json, List<Entity> items) throws IOException {
+        json.beginArray();
+        for (Entity item : items) {
+            json.beginObject();
+            json.name("id").value(item.getId());
+            json.name("type").value(NameConverter.toSnakeCase(item));
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    /** Forwards to whichever stream the current response is being written to */
+    private static final class TargetStream extends OutputStream {
+        private OutputStream out;
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
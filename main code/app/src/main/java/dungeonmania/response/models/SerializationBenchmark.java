@@ -0,0 +1,167 @@
+package dungeonmania.response.models;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import dungeonmania.util.Position;
+
+/**
+ * Compares serialising a response with Gson's reflective adapters against `ResponseAdapters`.
+ *
+ * Each run serialises the same wrapped `DungeonResponse` with both, after a warm up, and reports the throughput and
+ * the bytes allocated per response on the benchmarking thread. Allocation is measured through the HotSpot
+ * `ThreadMXBean`, and is reported as unknown on JVMs without it.
+ *
+ * Usage: `SerializationBenchmark [--entities=N] [--battles=N] [--warmup=N] [--iterations=N]`
+ */
+public class SerializationBenchmark {
+    public static final int DEFAULT_ENTITIES = 2000;
+    public static final int DEFAULT_BATTLES = 10;
+    public static final int DEFAULT_WARMUP = 2000;
+    public static final int DEFAULT_ITERATIONS = 5000;
+
+    private static final String[] TYPES = {
+        "wall", "boulder", "switch", "door", "spider", "zombie_toast", "mercenary", "treasure", "wood", "arrow"
+    };
+
+    /** Results of serialising with one `Gson` */
+    public static final class Result {
+        private final String name;
+        private final int length;
+        private final double responsesPerSecond;
+        private final long bytesPerResponse;
+
+        public Result(String name, int length, double responsesPerSecond, long bytesPerResponse) {
+            this.name = name;
+            this.length = length;
+            this.responsesPerSecond = responsesPerSecond;
+            this.bytesPerResponse = bytesPerResponse;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getResponsesPerSecond() {
+            return responsesPerSecond;
+        }
+
+        /** Bytes allocated per response, or -1 if unknown */
+        public long getBytesPerResponse() {
+            return bytesPerResponse;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %10d chars %12.1f responses/s %14s bytes/response", name, length,
+                    responsesPerSecond, (bytesPerResponse < 0) ? "unknown" : Long.toString(bytesPerResponse));
+        }
+    }
+
+    private int warmup = DEFAULT_WARMUP;
+    private int iterations = DEFAULT_ITERATIONS;
+
+    public SerializationBenchmark setWarmup(int warmup) {
+        this.warmup = warmup;
+        return this;
+    }
+
+    public SerializationBenchmark setIterations(int iterations) {
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Build a response with the given number of entities and battles, shaped like those a large dungeon produces
+     */
+    public static DungeonResponse sampleResponse(int entities, int battles) {
+        List<EntityResponse> entityResponses = new ArrayList<>(entities);
+        for (int i = 0; i < entities; i++) {
+            String type = TYPES[i % TYPES.length];
+            entityResponses.add(new EntityResponse("entity" + i, type, new Position(i % 64, i / 64, i % 4),
+                    type.equals("mercenary")));
+        }
+
+        List<ItemResponse> inventory = List.of(new ItemResponse("item0", "sword"), new ItemResponse("item1", "bow"),
+                new ItemResponse("item2", "treasure"));
+        List<BattleResponse> battleResponses = new ArrayList<>(battles);
+        for (int i = 0; i < battles; i++) {
+            List<RoundResponse> rounds = new ArrayList<>();
+            for (int r = 0; r < 5; r++)
+                rounds.add(new RoundResponse(-0.5 * r, -2.5));
+            battleResponses.add(new BattleResponse("zombie_toast", rounds, inventory, 10, 5));
+        }
+
+        List<AnimationQueue> animations = List.of(new AnimationQueue("PostTick", "entity0",
+                List.of("sprite wall", "healthbar set 1"), false, -1));
+        return new DungeonResponse("dungeon0", "benchmark", entityResponses, inventory, battleResponses,
+                List.of("shield"), ":exit AND :treasure", animations);
+    }
+
+    /**
+     * Serialise `response` with reflective and hand-written adapters, returning the reflective result first
+     * @throws IllegalStateException if the two produce different JSON
+     */
+    public List<Result> run(DungeonResponse response) {
+        GenericResponseWrapper<DungeonResponse> wrapped = GenericResponseWrapper.ok(response);
+        Gson reflective = new GsonBuilder().create();
+        Gson handWritten = ResponseAdapters.register(new GsonBuilder()).create();
+        if (!reflective.toJson(wrapped).equals(handWritten.toJson(wrapped)))
+            throw new IllegalStateException("Hand-written adapters disagree with reflective serialisation");
+
+        Result reflectiveResult = measure("reflective", reflective, wrapped);
+        Result handWrittenResult = measure("hand-written", handWritten, wrapped);
+        return List.of(reflectiveResult, handWrittenResult);
+    }
+
+    private Result measure(String name, Gson gson, Object response) {
+        int length = 0;
+        for (int i = 0; i < warmup; i++)
+            length += gson.toJson(response).length();
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            length += gson.toJson(response).length();
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+
+        long bytesPerResponse = (allocatedBefore < 0) ? -1 : (allocatedAfter - allocatedBefore) / iterations;
+        return new Result(name, length / (warmup + iterations), iterations * 1e9 / elapsed, bytesPerResponse);
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+            return threads.getCurrentThreadAllocatedBytes();
+        return -1;
+    }
+
+    public static void main(String[] args) {
+        SerializationBenchmark benchmark = new SerializationBenchmark();
+        int entities = DEFAULT_ENTITIES;
+        int battles = DEFAULT_BATTLES;
+
+        for (String argument : args) {
+            String[] arg = argument.split("=", 2);
+            if (arg.length != 2)
+                throw new IllegalArgumentException("Expected key=value but got: " + argument);
+            switch (arg[0]) {
+            case "--entities" -> entities = Integer.parseInt(arg[1]);
+            case "--battles" -> battles = Integer.parseInt(arg[1]);
+            case "--warmup" -> benchmark.setWarmup(Integer.parseInt(arg[1]));
+            case "--iterations" -> benchmark.setIterations(Integer.parseInt(arg[1]));
+            default -> throw new IllegalArgumentException("Unknown option: " + arg[0]);
+            }
+        }
+
+        List<Result> results = benchmark.run(sampleResponse(entities, battles));
+        results.forEach(System.out::println);
+        System.out.println(String.format("speedup: %.2fx", results.get(1).getResponsesPerSecond()
+                / results.get(0).getResponsesPerSecond()));
+    }
+}
@@ -1,13 +1,24 @@
 package dungeonmania.util;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
-import org.reflections.Reflections;
-import org.reflections.scanners.Scanners;
-
 public final class FileLoader {
+    /**
+     * Lists every JSON resource, one path relative to resources/ per line. Written by the build as it processes each
+     * set of resources, so the main and test resources have an index each.
+     */
+    public static final String RESOURCE_INDEX = "resource-index.txt";
+
+    /** Every indexed resource path, read from the indexes once on first use */
+    private static volatile List<String> index;
     /**
      * Loads a resource file given a certain path that is relative to resources/
      * for example `/dungeons/maze.json`. Will add a `/` prefix to path if it's not
@@ -35,13 +46,42 @@ public final class FileLoader {
      * @return A list of *only* filenames with no extensions nor relative/absolute
      *         paths i.e. [maze, otherFile]
      *
+     * Files are found in the resource indexes written by the build, which are read once, rather than by scanning the
+     * classpath.
      */
     public static List<String> listFileNamesInResourceDirectory(String directory) {
-        Reflections reflections = new Reflections(directory, Scanners.Resources);
-        System.out.println(reflections);
+        String prefix = (directory.startsWith("/") ? directory.substring(1) : directory) + "/";
+        return index().stream().filter(path -> path.startsWith(prefix) && path.endsWith(".json"))
+                .map(path -> path.substring(prefix.length(), path.length() - ".json".length()))
+                .filter(name -> !name.contains("/")).collect(Collectors.toList());
+    }
+
+    private static List<String> index() {
+        List<String> current = index;
+        if (current == null) {
+            synchronized (FileLoader.class) {
+                if (index == null)
+                    index = readIndex();
+                current = index;
+            }
+        }
+        return current;
+    }
 
-        return reflections.getResources(".*\\.json").stream()
-                .map(s -> s.replace(directory + "/", "").replace(".json", "")).collect(Collectors.toList());
+    private static List<String> readIndex() {
+        TreeSet<String> paths = new TreeSet<>();
+        try {
+            Enumeration<URL> indexes = FileLoader.class.getClassLoader().getResources(RESOURCE_INDEX);
+            while (indexes.hasMoreElements()) {
+                try (InputStream in = indexes.nextElement().openStream()) {
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().map(String::strip)
+                            .filter(line -> !line.isEmpty()).forEach(paths::add);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + RESOURCE_INDEX, e);
+        }
+        return List.copyOf(paths);
     }
 
     public static void main(String[] args) {
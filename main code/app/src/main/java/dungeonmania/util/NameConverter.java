@@ -2,7 +2,10 @@ package dungeonmania.util;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import dungeonmania.entities.ColorCodedType;
 import dungeonmania.entities.Door;
 import dungeonmania.entities.Entity;
 import dungeonmania.entities.Portal;
@@ -18,26 +21,40 @@ import dungeonmania.entities.logical.SwitchDoor;
  * Can manually modify the result as needed e.g. door_open
  */
 public class NameConverter {
-    /** Convert the given entity's class name to snake_case for use in an entity response */
-    public static String toSnakeCase(Entity entity) {
-        String nameBasic = toSnakeCase(entity.getClass().getSimpleName());
-        if (entity instanceof Portal portal) {
-            String color = "_" + portal.getColor().toLowerCase();
-            return nameBasic + color;
-        }
-        if (entity instanceof Door door) {
-            String open = door.isOpen() ? "_open" : "";
-            return nameBasic + open;
-        }
-        if (entity instanceof LightBulb lightBulb) {
-            String on = lightBulb.isLogicallyActivated() ? "_on" : "_off";
-            return "light_bulb" + on;
-        }
-        if (entity instanceof SwitchDoor switchDoor) {
-            String open = switchDoor.isOpen() ? "_open" : "";
-            return "switch_door" + open;
+    public static final String DOOR = "door";
+    public static final String DOOR_OPEN = "door_open";
+    public static final String LIGHT_BULB_ON = "light_bulb_on";
+    public static final String LIGHT_BULB_OFF = "light_bulb_off";
+    public static final String SWITCH_DOOR = "switch_door";
+    public static final String SWITCH_DOOR_OPEN = "switch_door_open";
+
+    /** Snake case names of entity classes, computed once per class */
+    private static final ClassValue<String> TYPE_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return toSnakeCase(type.getSimpleName());
         }
-        return nameBasic;
+    };
+
+    /** Portal names by colour, e.g. "RED" --> "portal_red" */
+    private static final Map<String, String> PORTAL_NAMES = Arrays.stream(ColorCodedType.values())
+            .collect(Collectors.toUnmodifiableMap(ColorCodedType::toString,
+                    color -> "portal_" + color.toString().toLowerCase()));
+
+    /**
+     * Convert the given entity's class name to snake_case for use in an entity response. Names are looked up rather
+     * than built, so this doesn't allocate.
+     */
+    public static String toSnakeCase(Entity entity) {
+        if (entity instanceof Portal portal)
+            return PORTAL_NAMES.get(portal.getColor());
+        if (entity instanceof Door door)
+            return door.isOpen() ? DOOR_OPEN : DOOR;
+        if (entity instanceof LightBulb lightBulb)
+            return lightBulb.isLogicallyActivated() ? LIGHT_BULB_ON : LIGHT_BULB_OFF;
+        if (entity instanceof SwitchDoor switchDoor)
+            return switchDoor.isOpen() ? SWITCH_DOOR_OPEN : SWITCH_DOOR;
+        return TYPE_NAMES.get(entity.getClass());
     }
 
     /** Convert the given string to snake_case */
@@ -0,0 +1,76 @@
+package dungeonmania.util;
+
+/**
+ * A rectangle of the map which a client is displaying, given by its top left corner and size in tiles.
+ *
+ * Written in requests as "x,y,width,height", e.g. "-5,-5,11,11".
+ */
+public final class Viewport {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    /**
+     * @throws IllegalArgumentException if the width or height is not positive
+     */
+    public Viewport(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("Viewport width and height must be positive");
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Parse a viewport written as "x,y,width,height"
+     * @return the viewport, or `null` if `viewport` is null or empty
+     * @throws IllegalArgumentException if the viewport is malformed
+     */
+    public static Viewport parse(String viewport) {
+        if (viewport == null || viewport.isBlank())
+            return null;
+        String[] parts = viewport.split(",");
+        if (parts.length != 4)
+            throw new IllegalArgumentException("Viewport must be given as x,y,width,height but got: " + viewport);
+        try {
+            return new Viewport(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Viewport must be given as x,y,width,height but got: " + viewport);
+        }
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /** Number of tiles covered */
+    public long area() {
+        return (long) width * height;
+    }
+
+    public boolean contains(Position position) {
+        // In long, as the far edge of a viewport can lie beyond the largest int
+        return position.getX() >= x && position.getX() < (long) x + width && position.getY() >= y
+                && position.getY() < (long) y + height;
+    }
+
+    @Override
+    public String toString() {
+        return x + "," + y + "," + width + "," + height;
+    }
+}
@@ -0,0 +1,79 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.catalog.ConfigTemplate;
+import dungeonmania.catalog.DungeonTemplate;
+import dungeonmania.catalog.GameCatalog;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.ResponseBuilder;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class BinaryDungeonTest {
+    private static final String CONFIG = "simple";
+
+    private static List<String> describe(Game game) {
+        DungeonResponse response = ResponseBuilder.getDungeonResponse(game);
+        return response.getEntities().stream().map(e -> e.getType() + "@" + e.getPosition()).sorted().toList();
+    }
+
+    @Test
+    @Tag("45-1")
+    @DisplayName("Test compiled dungeons load into the same games as their JSON")
+    public void testSameAsJson() {
+        ConfigTemplate config = GameCatalog.getInstance().getConfig(CONFIG);
+        List<String> names = List.of("advanced", "portals", "d_logical_bomb", "d_switch_door",
+                "d_complexGoalsTest_andAll");
+        for (String name : names) {
+            DungeonTemplate dungeon = GameCatalog.getInstance().getDungeon(name);
+            byte[] compiled = BinaryDungeon.compile(dungeon);
+            Game fromJson = new GameBuilder().setDungeon(dungeon).setConfig(config).buildGame();
+            Game fromBinary = BinaryDungeon.load(name, ByteBuffer.wrap(compiled), config);
+
+            assertEquals(describe(fromJson), describe(fromBinary), name);
+            assertEquals(ResponseBuilder.getDungeonResponse(fromJson).getGoals(),
+                    ResponseBuilder.getDungeonResponse(fromBinary).getGoals(), name);
+        }
+
+        // 114 walls share one kind, so each takes no more than its kind and position
+        byte[] advanced = BinaryDungeon.compile(GameCatalog.getInstance().getDungeon("advanced"));
+        assertTrue(advanced.length < 10 * 131 + 200);
+    }
+
+    @Test
+    @Tag("45-2")
+    @DisplayName("Test compiled dungeon files are loaded by the game builder, and bad files are reported")
+    public void testDungeonFile() throws IOException {
+        Path file = Files.createTempFile("compiled", BinaryDungeon.EXTENSION);
+        try {
+            byte[] compiled = BinaryDungeon.compile(GameCatalog.getInstance().getDungeon("advanced"));
+            Files.write(file, compiled);
+            Game game = new GameBuilder().setDungeonFile(file).setConfigName(CONFIG).buildGame();
+            assertEquals(131, game.getMap().getEntities().size());
+
+            Files.write(file, Arrays.copyOf(compiled, compiled.length / 2));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GameBuilder().setDungeonFile(file).setConfigName(CONFIG).buildGame());
+            Files.writeString(file, "{\"entities\": []}");
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GameBuilder().setDungeonFile(file).setConfigName(CONFIG).buildGame());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
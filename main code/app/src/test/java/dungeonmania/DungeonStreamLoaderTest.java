@@ -0,0 +1,76 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.catalog.GameCatalog;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.ResponseBuilder;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class DungeonStreamLoaderTest {
+    private static final String DUNGEON = "d_complexGoalsTest_andAll";
+    private static final String CONFIG = "c_complexGoalsTest_andAll";
+
+    private static List<String> describe(Game game) {
+        DungeonResponse response = ResponseBuilder.getDungeonResponse(game);
+        return response.getEntities().stream().map(e -> e.getType() + "@" + e.getPosition()).sorted().toList();
+    }
+
+    @Test
+    @Tag("44-1")
+    @DisplayName("Test streaming a dungeon builds the same game as parsing it")
+    public void testSameAsParsed() throws IOException {
+        Game parsed = new GameBuilder().setDungeonName(DUNGEON).setConfigName(CONFIG).buildGame();
+        Game streamed;
+        try (Reader in = new InputStreamReader(getClass().getResourceAsStream("/dungeons/" + DUNGEON + ".json"),
+                StandardCharsets.UTF_8)) {
+            streamed = DungeonStreamLoader.load(DUNGEON, in, GameCatalog.getInstance().getConfig(CONFIG));
+        }
+
+        assertEquals(describe(parsed), describe(streamed));
+        assertEquals(ResponseBuilder.getDungeonResponse(parsed).getGoals(),
+                ResponseBuilder.getDungeonResponse(streamed).getGoals());
+        assertEquals(parsed.getPlayer().getPosition(), streamed.getPlayer().getPosition());
+    }
+
+    @Test
+    @Tag("44-2")
+    @DisplayName("Test dungeon files can be streamed with the goal first, and bad files are reported")
+    public void testDungeonFile() throws IOException {
+        Path file = Files.createTempFile("streamed", ".json");
+        Path bad = Files.createTempFile("bad", ".json");
+        try {
+            Files.writeString(file, "{\"goal-condition\": {\"goal\": \"AND\", \"subgoals\": [{\"goal\": \"exit\"},"
+                    + " {\"goal\": \"treasure\"}]}, \"comment\": [1, 2.5, null, true],"
+                    + " \"entities\": [{\"type\": \"player\", \"x\": 0, \"y\": 0},"
+                    + " {\"type\": \"door\", \"x\": -1, \"y\": 0, \"key\": 2},"
+                    + " {\"type\": \"exit\", \"x\": 1, \"y\": 0}]}");
+            Game game = new GameBuilder().setDungeonFile(file).setConfigName(CONFIG).buildGame();
+            assertEquals(file.getFileName().toString().replace(".json", ""), game.getName());
+            assertEquals(3, game.getMap().getEntities().size());
+            assertEquals("(:exit AND :treasure)", ResponseBuilder.getDungeonResponse(game).getGoals());
+
+            Files.writeString(bad, "{\"entities\": [{\"type\": \"player\", \"x\": 0, \"y\": 0},");
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GameBuilder().setDungeonFile(bad).setConfigName(CONFIG).buildGame());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(bad);
+        }
+    }
+}
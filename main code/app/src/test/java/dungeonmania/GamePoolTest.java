@@ -0,0 +1,143 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.catalog.GameCatalog;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class GamePoolTest {
+    private static final String DUNGEON = "d_movementTest_testMovementDown";
+    private static final String CONFIG = "c_movementTest_testMovementDown";
+    private static final String OTHER_DUNGEON = "d_complexGoalsTest_andAll";
+    private static final String OTHER_CONFIG = "c_complexGoalsTest_andAll";
+    private static final long WINDOW = 1000;
+
+    @Test
+    @Tag("43-1")
+    @DisplayName("Test the pool keeps as many games ready as were recently asked for")
+    public void testAdaptiveRefill() {
+        long[] now = {0};
+        // Refills run straight away on the taking thread
+        GamePool pool = new GamePool(Runnable::run, 3, 10, WINDOW, () -> now[0]);
+
+        Game first = pool.take(DUNGEON, CONFIG);
+        assertEquals(1, pool.getStats().getMisses());
+        assertEquals(1, pool.getReady(DUNGEON, CONFIG));
+
+        Game second = pool.take(DUNGEON, CONFIG);
+        assertNotSame(first, second);
+        assertEquals(1, pool.getStats().getHits());
+        assertEquals(2, pool.getReady(DUNGEON, CONFIG));
+
+        pool.take(DUNGEON, CONFIG);
+        pool.take(DUNGEON, CONFIG);
+        assertEquals(3, pool.getReady(DUNGEON, CONFIG));
+
+        // Once demand drops off, so does the number kept ready
+        now[0] += WINDOW * 2;
+        pool.take(DUNGEON, CONFIG);
+        assertEquals(1, pool.getReady(DUNGEON, CONFIG));
+        assertEquals(4, pool.getStats().getHits());
+        assertEquals(1, pool.getStats().getMisses());
+
+        assertThrows(IllegalArgumentException.class, () -> pool.take("no_such_dungeon", CONFIG));
+    }
+
+    @Test
+    @Tag("43-2")
+    @DisplayName("Test the pool stays within its total, and drops games from before a catalog reload")
+    public void testLimitsAndReload() {
+        long[] now = {0};
+        GamePool pool = new GamePool(Runnable::run, 2, 2, WINDOW, () -> now[0]);
+        pool.take(DUNGEON, CONFIG);
+        pool.take(DUNGEON, CONFIG);
+        assertEquals(2, pool.getStats().getReady());
+
+        // Full, and the first pair is still in demand
+        pool.take(OTHER_DUNGEON, OTHER_CONFIG);
+        assertEquals(0, pool.getReady(OTHER_DUNGEON, OTHER_CONFIG));
+
+        // The first pair has gone quiet, so its games make way
+        now[0] += WINDOW * 2;
+        pool.take(OTHER_DUNGEON, OTHER_CONFIG);
+        assertEquals(0, pool.getReady(DUNGEON, CONFIG));
+        assertEquals(1, pool.getReady(OTHER_DUNGEON, OTHER_CONFIG));
+
+        GameCatalog.getInstance().reload();
+        long misses = pool.getStats().getMisses();
+        pool.take(OTHER_DUNGEON, OTHER_CONFIG);
+        assertEquals(misses + 1, pool.getStats().getMisses());
+
+        pool.clear();
+        assertEquals(0, pool.getStats().getReady());
+    }
+
+    @Test
+    @Tag("43-3")
+    @DisplayName("Test a take which read the prototype before a reload doesn't bring back the old one")
+    public void testTakeDuringReload() throws InterruptedException {
+        GamePrototype before = GameCatalog.getInstance().getPrototype(DUNGEON, CONFIG);
+        GamePrototype after = GameCatalog.getInstance().getPrototype(OTHER_DUNGEON, OTHER_CONFIG);
+        AtomicReference<GamePrototype> current = new AtomicReference<>(before);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread[] slow = new Thread[1];
+
+        Queue<Runnable> refills = new ConcurrentLinkedQueue<>();
+        GamePool pool = new GamePool(refills::add, 2, 10, WINDOW, () -> 0, (dungeonName, configName) -> {
+            GamePrototype seen = current.get();
+            if (Thread.currentThread() == slow[0]) {
+                // Hold on to the prototype from before the reload while the reload happens
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return seen;
+        });
+        pool.take(DUNGEON, CONFIG);
+        runAll(refills);
+        assertEquals(1, pool.getReady(DUNGEON, CONFIG));
+
+        slow[0] = new Thread(() -> pool.take(DUNGEON, CONFIG));
+        slow[0].start();
+        reading.await();
+
+        current.set(after);
+        Thread fresh = new Thread(() -> pool.take(DUNGEON, CONFIG));
+        fresh.start();
+        // The fresh take has to wait for the slow one, rather than moving the pair on before it
+        while (fresh.isAlive() && fresh.getState() != Thread.State.BLOCKED)
+            Thread.onSpinWait();
+        release.countDown();
+        slow[0].join();
+        fresh.join();
+        runAll(refills);
+
+        // The games kept ready were built from the prototype after the reload, so the next take is a hit
+        long hits = pool.getStats().getHits();
+        assertEquals(OTHER_DUNGEON, pool.take(DUNGEON, CONFIG).getName());
+        assertEquals(hits + 1, pool.getStats().getHits());
+    }
+
+    private static void runAll(Queue<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null)
+            task.run();
+    }
+}
@@ -0,0 +1,73 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.catalog.GameCatalog;
+import dungeonmania.entities.Entity;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class GamePrototypeTest {
+    private static final String DUNGEON = "d_PortalsTest_testTeleportationBothWays";
+    private static final String CONFIG = "c_PortalsTest_testTeleportationBothWays";
+
+    private static Set<String> entityIds(Game game) {
+        return game.getMap().getEntities().stream().map(Entity::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    @Tag("42-1")
+    @DisplayName("Test games from the same prototype are independent and wired up separately")
+    public void testGamesIndependent() {
+        GamePrototype prototype = GameCatalog.getInstance().getPrototype(DUNGEON, CONFIG);
+        Game first = prototype.newGame();
+        Game second = prototype.newGame();
+
+        assertNotEquals(first.getId(), second.getId());
+        assertNotSame(first.getGoals(), second.getGoals());
+        assertTrue(first.getMap().getEntities().stream().noneMatch(second.getMap().getEntities()::contains));
+
+        // Each game issues its entities the same IDs, so a game played again gives out the same ones
+        Set<String> ids = entityIds(first);
+        assertEquals(4, ids.size());
+        assertEquals(ids, entityIds(second));
+
+        // Each game's portals are paired with each other, not with the other game's
+        first.tick(Direction.RIGHT);
+        assertEquals(1, Position.calculatePositionBetween(new Position(4, 1), first.getPlayer().getPosition())
+                .magnitude());
+        assertEquals(new Position(0, 1), second.getPlayer().getPosition());
+        second.tick(Direction.RIGHT);
+        assertEquals(1, Position.calculatePositionBetween(new Position(4, 1), second.getPlayer().getPosition())
+                .magnitude());
+    }
+
+    @Test
+    @Tag("42-2")
+    @DisplayName("Test the catalog prepares each prototype once until it is reloaded")
+    public void testPrototypesCached() {
+        GameCatalog catalog = GameCatalog.getInstance();
+        GamePrototype prototype = catalog.getPrototype(DUNGEON, CONFIG);
+        assertSame(prototype, catalog.getPrototype(DUNGEON, CONFIG));
+        assertThrows(IllegalArgumentException.class, () -> catalog.getPrototype(DUNGEON, "no_such_config"));
+
+        catalog.reload();
+        assertNotSame(prototype, catalog.getPrototype(DUNGEON, CONFIG));
+        assertEquals(DUNGEON, new GameBuilder().setDungeonName(DUNGEON).setConfigName(CONFIG).buildGame().getName());
+    }
+}
@@ -0,0 +1,86 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.mvp.TestUtils;
+import dungeonmania.response.models.DeltaResponse;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.GenericResponseWrapper;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class GameSocketTest {
+    private static final String NEW_GAME = "{\"action\": \"new\", \"dungeonName\": \"d_movementTest_testMovementDown\","
+            + " \"configName\": \"c_movementTest_testMovementDown\"}";
+    private static final String MOVE_DOWN = "{\"action\": \"tick\", \"movementDirection\": \"down\"}";
+
+    @Test
+    @Tag("40-1")
+    @DisplayName("Test socket messages apply actions and return full responses")
+    public void testFullResponses() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        GenericResponseWrapper<Object> started = GameSocket.handle(dmc, false, NEW_GAME);
+        assertFalse(started.isError());
+        DungeonResponse initial = (DungeonResponse) started.getResult();
+
+        DungeonResponse moved = (DungeonResponse) GameSocket.handle(dmc, false, MOVE_DOWN).getResult();
+        assertEquals(initial.getDungeonId(), moved.getDungeonId());
+        assertEquals(TestUtils.getPlayerPos(initial).getY() + 1, TestUtils.getPlayerPos(moved).getY());
+    }
+
+    @Test
+    @Tag("40-2")
+    @DisplayName("Test delta connections start with a keyframe and then only receive changes")
+    public void testDeltaResponses() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DeltaResponse keyframe = (DeltaResponse) GameSocket.handle(dmc, true, NEW_GAME).getResult();
+        assertTrue(keyframe.isKeyframe());
+
+        DeltaResponse moved = (DeltaResponse) GameSocket.handle(dmc, true, MOVE_DOWN).getResult();
+        assertFalse(moved.isKeyframe());
+        assertEquals(1, moved.getUpdated().size());
+        assertEquals("player", moved.getUpdated().get(0).getType());
+    }
+
+    @Test
+    @Tag("40-3")
+    @DisplayName("Test bad messages are reported as errors")
+    public void testErrors() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        GameSocket.handle(dmc, false, NEW_GAME);
+        assertEquals("IllegalArgumentException", GameSocket.handle(dmc, false, "{\"action\": \"fly\"}")
+                .getErrorTitle());
+        assertEquals("IllegalArgumentException", GameSocket.handle(dmc, false, "{\"action\": \"keyframe\"}")
+                .getErrorTitle());
+        assertTrue(GameSocket.handle(dmc, false, "not json").isError());
+        assertInstanceOf(DungeonResponse.class, GameSocket.handle(dmc, false, MOVE_DOWN).getResult());
+    }
+
+    @Test
+    @Tag("40-4")
+    @DisplayName("Test connections without an HTTP session each get a session of their own")
+    public void testOwnSessions() {
+        String first = GameSocket.sessionId(null);
+        String second = GameSocket.sessionId(null);
+        assertNotEquals(first, second);
+        assertNotEquals(SessionStore.DEFAULT_SESSION, first);
+
+        SessionStore store = new SessionStore(10, 60000, null, System::currentTimeMillis);
+        DungeonManiaController own = store.get(first);
+        assertNotSame(own, store.get(second));
+        store.discard(first);
+        assertEquals(1, store.size());
+        assertNotSame(own, store.get(first));
+    }
+}
@@ -0,0 +1,54 @@
+package dungeonmania;
+
+import static dungeonmania.SessionStoreTest.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.SessionStoreTest.ThreadAction;
+import dungeonmania.util.Direction;
+
+/**
+ * Measures how session throughput scales with threads. Timings depend on the machine, so these report what they
+ * measure rather than asserting on it, and are left out of `gradle test`; run them with `gradle loadTest`.
+ */
+@Tag("load")
+@Timeout(value = 60, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class SessionStoreLoadTest {
+    @Test
+    @Tag("50-2")
+    @DisplayName("Test sessions never wait on each other, so throughput scales with threads")
+    public void testSessionsInParallel() throws Exception {
+        SessionStore store = new SessionStore(1000, 60000, null, System::currentTimeMillis);
+        // Each action holds its session for 20ms; if sessions shared a lock, 8 threads would take 8 times as long
+        AtomicInteger actions = new AtomicInteger();
+        long blocking = runConcurrently(8, 5, (thread, i) -> store.withSession("blocking" + thread, dmc -> {
+            Thread.sleep(20);
+            return actions.incrementAndGet();
+        }));
+        assertEquals(8 * 5, actions.get());
+        System.out.printf("8 threads holding their own session for 20ms, 5 times each: %dms (%dms if serialised)%n",
+                TimeUnit.NANOSECONDS.toMillis(blocking), 8 * 5 * 20);
+
+        // Playing real games scales with cores, for as many cores as there are to measure
+        int cores = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        for (int thread = 0; thread < cores; thread++) {
+            int session = thread;
+            store.withSession("playing" + session, dmc -> dmc.startGame("advanced", "simple"));
+        }
+        // Back and forth next to the potions rather than picking them up, as fighting while holding one fails
+        ThreadAction play = (thread, i) -> store.withSession("playing" + thread,
+                dmc -> dmc.applyTick(i % 2 == 0 ? Direction.DOWN : Direction.UP));
+        runConcurrently(cores, 200, play);
+        long alone = runConcurrently(1, 400, play);
+        long together = runConcurrently(cores, 400, play);
+        System.out.printf("Speedup of playing %d sessions at once over one: %.2f%n", cores,
+                (double) alone * cores / together);
+    }
+}
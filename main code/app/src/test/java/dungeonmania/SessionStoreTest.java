@@ -0,0 +1,224 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.entities.enemies.ZombieToastSpawner;
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.ResponseBuilder;
+import dungeonmania.util.Direction;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class SessionStoreTest {
+    /**
+     * Run `action` `times` times on each of `threads` threads, all starting together
+     * @return How long it took, in nanoseconds
+     */
+    static long runConcurrently(int threads, int times, ThreadAction action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < times; i++)
+                        action.run(thread, i);
+                    return null;
+                }));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get();
+            return System.nanoTime() - began;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    interface ThreadAction {
+        void run(int thread, int i) throws Exception;
+    }
+
+    /** Where everything is after the player moves once more, which also checks games carry on the same way */
+    private static List<String> describe(DungeonManiaController dmc) {
+        DungeonResponse response = ResponseBuilder.getDungeonResponse(dmc.applyTick(Direction.UP));
+        List<String> description = new ArrayList<>();
+        response.getEntities().forEach(e -> description.add(e.getId() + ":" + e.getType() + "@" + e.getPosition()));
+        response.getInventory().forEach(e -> description.add("inventory:" + e.getId() + ":" + e.getType()));
+        description.sort(null);
+        return description;
+    }
+
+    @Test
+    @Tag("49-1")
+    @DisplayName("Test the least recently used and idle sessions are evicted")
+    public void testEviction() {
+        AtomicLong clock = new AtomicLong();
+        SessionStore store = new SessionStore(2, 1000, null, clock::get);
+        DungeonManiaController a = store.get("a");
+        DungeonManiaController b = store.get("b");
+        assertSame(a, store.get("a"));
+
+        // b is the least recently used
+        DungeonManiaController c = store.get("c");
+        assertEquals(2, store.size());
+        assertSame(a, store.get("a"));
+        assertSame(c, store.get("c"));
+        assertNotSame(b, store.get("b"));
+
+        // Only a is idle for long enough to be evicted
+        clock.set(600);
+        store.get("b");
+        store.get("c");
+        clock.set(1000);
+        store.get("c");
+        assertEquals(2, store.size());
+        assertNotSame(a, store.get("a"));
+    }
+
+    @Test
+    @Tag("49-2")
+    @DisplayName("Test evicted sessions are spilled to disk and restored with the same game state")
+    public void testSpill() throws IOException, InvalidActionException {
+        Path directory = Files.createTempDirectory("sessions");
+        try {
+            SessionStore store = new SessionStore(1, 1000, directory, System::currentTimeMillis);
+            // Spiders spawn and move at random every tick
+            DungeonManiaController spiders = store.get("spiders");
+            spiders.startGame("d_spiderTest_spawnRate", "c_spiderTest_spawnRate1");
+            for (int i = 0; i < 8; i++)
+                spiders.applyTick(Direction.DOWN);
+            assertNull(store.get("toast").getRecord());
+            assertEquals(1, store.size());
+
+            // Pick up a sword and destroy a zombie toast spawner with it
+            DungeonManiaController toast = store.get("toast");
+            toast.startGame("d_zombieTest_toastDestruction", "c_zombieTest_toastDestruction");
+            toast.applyTick(Direction.DOWN);
+            toast.applyTick(Direction.RIGHT);
+            String spawnerId = toast.applyTick(Direction.LEFT).getMap().getEntities(ZombieToastSpawner.class).get(0)
+                    .getId();
+            toast.applyTick(Direction.RIGHT);
+            toast.applyInteract(spawnerId);
+
+            DungeonManiaController restoredSpiders = store.get("spiders");
+            assertNotSame(spiders, restoredSpiders);
+            assertEquals(describe(spiders), describe(restoredSpiders));
+            DungeonManiaController restoredToast = store.get("toast");
+            assertNotSame(toast, restoredToast);
+            assertEquals(describe(toast), describe(restoredToast));
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList())
+                    Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    @Tag("49-3")
+    @DisplayName("Test IDs given out before a session was evicted can still be used once it is restored")
+    public void testIdsSurviveEviction() throws IOException, InvalidActionException {
+        Path directory = Files.createTempDirectory("sessions");
+        try {
+            SessionStore store = new SessionStore(1, 1000, directory, System::currentTimeMillis);
+            DungeonManiaController toast = store.get("toast");
+            toast.startGame("d_zombieTest_toastDestruction", "c_zombieTest_toastDestruction");
+            toast.applyTick(Direction.DOWN);
+            String spawnerId = toast.applyTick(Direction.RIGHT).getMap().getEntities(ZombieToastSpawner.class).get(0)
+                    .getId();
+            store.get("other");
+
+            // The spawner's ID was given out before the session was evicted
+            DungeonManiaController restored = store.get("toast");
+            assertNotSame(toast, restored);
+            restored.applyTick(Direction.LEFT);
+            restored.applyTick(Direction.RIGHT);
+            Game game = restored.applyInteract(spawnerId);
+            assertTrue(game.getMap().getEntities(ZombieToastSpawner.class).isEmpty());
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList())
+                    Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    @Tag("49-4")
+    @DisplayName("Test games are only recorded when they can be spilled, and only up to a limit")
+    public void testRecordLimit() throws IOException {
+        DungeonManiaController unspilled = new SessionStore(1, 1000, null, System::currentTimeMillis).get("a");
+        unspilled.startGame("d_movementTest_testMovementDown", "c_movementTest_testMovementDown");
+        assertNull(unspilled.getRecord());
+
+        Path directory = Files.createTempDirectory("sessions");
+        try {
+            SessionStore store = new SessionStore(1, 1000, directory, 3, System::currentTimeMillis);
+            DungeonManiaController dmc = store.get("a");
+            dmc.startGame("d_movementTest_testMovementDown", "c_movementTest_testMovementDown");
+            for (int i = 0; i < 3; i++)
+                dmc.applyTick(Direction.UP);
+            assertEquals(3, dmc.getRecord().getActions().size());
+
+            // One action too many, so the game is dropped rather than spilled when the session is evicted
+            dmc.applyTick(Direction.UP);
+            assertNull(dmc.getRecord());
+            store.get("b");
+            assertNull(store.get("a").getRecord());
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList())
+                    Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    @Tag("50-1")
+    @DisplayName("Test concurrent requests share one controller per session, and act on it one at a time")
+    public void testPerSessionSerialisation() throws Exception {
+        SessionStore store = new SessionStore(100, 60000, null, System::currentTimeMillis);
+        Set<DungeonManiaController> controllers = ConcurrentHashMap.newKeySet();
+        int[] counts = new int[4];
+        runConcurrently(8, 500, (thread, i) -> store.withSession("session" + i % 4, dmc -> {
+            controllers.add(dmc);
+            // Not atomic, so only correct if no other thread is acting on the same session
+            counts[i % 4] = counts[i % 4] + 1;
+            return null;
+        }));
+        assertEquals(4, controllers.size());
+        for (int count : counts)
+            assertEquals(8 * 500 / 4, count);
+    }
+}
@@ -0,0 +1,76 @@
+package dungeonmania.battles.balance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.util.FileLoader;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class BalanceSimulatorTest {
+    private static JSONObject loadConfig(String name) throws IOException {
+        return new JSONObject(FileLoader.loadResourceFile("/configs/" + name + ".json"));
+    }
+
+    @Test
+    @Tag("26-1")
+    @DisplayName("Test the sweep covers every combination of config values and loadouts")
+    public void testSweepCoversGrid() throws IOException {
+        BalanceReport report = new BalanceSimulator(loadConfig("simple"))
+                .sweep("mercenary_attack", List.of(1.0, 5.0, 10.0)).sweep("shield_defence", List.of(0.0, 2.0))
+                .setLoadouts(List.of(Loadout.parse("none"), Loadout.parse("shield"))).setTrials(50).run();
+
+        assertEquals(3 * 2 * 2, report.getResults().size());
+        assertTrue(report.getResults().stream().allMatch(r -> r.getTrials() == 50));
+        assertTrue(report.winRateTable().contains("mercenary_attack=10,shield_defence=2"));
+    }
+
+    @Test
+    @Tag("26-2")
+    @DisplayName("Test a stronger enemy never raises the player's win rate")
+    public void testStrongerEnemyLowersWinRate() throws IOException {
+        BalanceReport report = new BalanceSimulator(loadConfig("simple"))
+                .sweep("mercenary_attack", List.of(1.0, 50.0)).setEnemies(List.of("mercenary"))
+                .setLoadouts(List.of(Loadout.parse("sword"))).setTrials(10).run();
+
+        BalanceResult weak = report.getResult(Map.of("mercenary_attack", 1.0), "sword");
+        BalanceResult strong = report.getResult(Map.of("mercenary_attack", 50.0), "sword");
+        assertEquals(1.0, weak.getWinRate());
+        assertEquals(0.0, strong.getWinRate());
+        assertTrue(weak.getMeanRoundsToKill("mercenary") > 0);
+    }
+
+    @Test
+    @Tag("26-3")
+    @DisplayName("Test results are reproducible for a given seed")
+    public void testSeedIsReproducible() throws IOException {
+        BalanceSimulator simulator = new BalanceSimulator(loadConfig("simple")).sweep("player_health",
+                List.of(3.0, 6.0, 9.0)).setTrials(200).setSeed(42);
+        List<Double> first = simulator.run().getResults().stream().map(BalanceResult::getWinRate).toList();
+        List<Double> second = simulator.run().getResults().stream().map(BalanceResult::getWinRate).toList();
+        assertEquals(first, second);
+    }
+
+    @Test
+    @Tag("26-4")
+    @DisplayName("Test a battle neither side can win is recorded as a stalemate")
+    public void testStalemate() throws IOException {
+        JSONObject config = loadConfig("simple").put("player_attack", 0).put("spider_attack", 0);
+        BalanceReport report = new BalanceSimulator(config).setEnemies(List.of("spider"))
+                .setLoadouts(List.of(Loadout.parse("none"))).setTrials(10).run();
+
+        BalanceResult result = report.getResults().get(0);
+        assertEquals(10, result.getStalemates());
+        assertEquals(0.0, result.getWinRate());
+    }
+}
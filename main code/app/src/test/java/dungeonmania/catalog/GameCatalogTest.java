@@ -0,0 +1,164 @@
+package dungeonmania.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.Game;
+import dungeonmania.GameBuilder;
+import dungeonmania.GamePrototype;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class GameCatalogTest {
+    private static final String DUNGEON = "d_movementTest_testMovementDown";
+    private static final String CONFIG = "c_movementTest_testMovementDown";
+    private static final String EXIT_DUNGEON = "{\"entities\": [{\"type\": \"player\", \"x\": 0, \"y\": 0},"
+            + " {\"type\": \"exit\", \"x\": 1, \"y\": 0}], \"goal-condition\": {\"goal\": \"exit\"}}";
+
+    /** A content directory holding the dungeons `first` and `second`, and the config `config` */
+    private static Path contentDirectory() throws IOException {
+        Path root = Files.createTempDirectory("content");
+        Files.createDirectories(root.resolve("dungeons"));
+        Files.createDirectories(root.resolve("configs"));
+        Files.writeString(root.resolve("dungeons/first.json"), EXIT_DUNGEON);
+        Files.writeString(root.resolve("dungeons/second.json"), EXIT_DUNGEON);
+        Files.writeString(root.resolve("configs/config.json"),
+                GameCatalog.getInstance().getConfig(CONFIG).getJson().toString());
+        return root;
+    }
+
+    private static void delete(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(file);
+        }
+    }
+
+    @Test
+    @Tag("41-1")
+    @DisplayName("Test templates are parsed once and shared between games")
+    public void testTemplatesShared() {
+        GameCatalog catalog = GameCatalog.getInstance();
+        assertTrue(catalog.dungeonNames().contains(DUNGEON));
+        assertTrue(catalog.configNames().contains(CONFIG));
+        assertSame(catalog.getDungeon(DUNGEON), catalog.getDungeon(DUNGEON));
+        assertSame(catalog.getConfig(CONFIG), catalog.getConfig(CONFIG));
+        assertThrows(IllegalArgumentException.class, () -> catalog.getDungeon("no_such_dungeon"));
+
+        // Games built from the same template don't share state
+        Game first = new GameBuilder().setDungeonName(DUNGEON).setConfigName(CONFIG).buildGame();
+        Game second = new GameBuilder().setDungeonName(DUNGEON).setConfigName(CONFIG).buildGame();
+        assertNotSame(first.getMap(), second.getMap());
+        assertEquals(first.getMap().getEntities().size(), second.getMap().getEntities().size());
+    }
+
+    @Test
+    @Tag("41-2")
+    @DisplayName("Test games can be built from templates which aren't in the catalog, and the catalog can be reloaded")
+    public void testCustomTemplatesAndReload() {
+        JSONObject dungeon = new JSONObject("{\"entities\": [{\"type\": \"player\", \"x\": 0, \"y\": 0},"
+                + " {\"type\": \"exit\", \"x\": 1, \"y\": 0}], \"goal-condition\": {\"goal\": \"exit\"}}");
+        Game game = new GameBuilder().setDungeon(new DungeonTemplate("custom", dungeon))
+                .setConfig(GameCatalog.getInstance().getConfig(CONFIG)).buildGame();
+        assertEquals("custom", game.getName());
+        assertEquals(2, game.getMap().getEntities().size());
+
+        DungeonTemplate before = GameCatalog.getInstance().getDungeon(DUNGEON);
+        GameCatalog.getInstance().reload();
+        assertNotSame(before, GameCatalog.getInstance().getDungeon(DUNGEON));
+        assertEquals(before.getEntities().size(), GameCatalog.getInstance().getDungeon(DUNGEON).getEntities().size());
+    }
+
+    @Test
+    @Tag("47-1")
+    @DisplayName("Test only changed files in a watched directory are parsed again, and only their prototypes dropped")
+    public void testRefresh() throws IOException {
+        GameCatalog catalog = GameCatalog.getInstance();
+        Path root = contentDirectory();
+        try {
+            catalog.watch(root);
+            assertEquals(List.of("first", "second"), catalog.dungeonNames());
+            assertEquals(List.of("config"), catalog.configNames());
+            DungeonTemplate second = catalog.getDungeon("second");
+            GamePrototype first = catalog.getPrototype("first", "config");
+            GamePrototype kept = catalog.getPrototype("second", "config");
+
+            Files.writeString(root.resolve("dungeons/first.json"), EXIT_DUNGEON.replace("\"x\": 1", "\"x\": 2"));
+            catalog.refresh("dungeons", "first");
+            assertSame(second, catalog.getDungeon("second"));
+            assertSame(kept, catalog.getPrototype("second", "config"));
+            assertNotSame(first, catalog.getPrototype("first", "config"));
+            Game game = new GameBuilder().setDungeonName("first").setConfigName("config").buildGame();
+            assertEquals(2, game.getMap().getEntities().stream().mapToInt(e -> e.getPosition().getX()).sum());
+
+            // Added, broken and removed files
+            Files.writeString(root.resolve("dungeons/third.json"), EXIT_DUNGEON);
+            catalog.refresh("dungeons", "third");
+            Files.writeString(root.resolve("dungeons/second.json"), "{\"entities\": [");
+            catalog.refresh("dungeons", "second");
+            Files.delete(root.resolve("dungeons/first.json"));
+            catalog.refresh("dungeons", "first");
+            assertEquals(List.of("second", "third"), catalog.dungeonNames());
+            assertThrows(IllegalArgumentException.class, () -> catalog.getDungeon("first"));
+            assertThrows(IllegalArgumentException.class, () -> catalog.getPrototype("second", "config"));
+            assertNotSame(kept, catalog.getPrototype("third", "config"));
+
+            // A changed config drops the prototype of every dungeon played with it
+            GamePrototype third = catalog.getPrototype("third", "config");
+            catalog.refresh("configs", "config");
+            assertNotSame(third, catalog.getPrototype("third", "config"));
+        } finally {
+            catalog.unwatch();
+            delete(root);
+        }
+        assertTrue(catalog.dungeonNames().contains(DUNGEON));
+        assertThrows(IllegalArgumentException.class, () -> catalog.getDungeon("third"));
+    }
+
+    @Test
+    @Tag("47-2")
+    @DisplayName("Test the changes seen by the watcher are applied to the catalog")
+    public void testWatcher() throws IOException {
+        GameCatalog catalog = GameCatalog.getInstance();
+        Path root = contentDirectory();
+        try {
+            // Only catalog files are refreshed, named after the watched directory they're in
+            assertEquals(Optional.of(List.of("dungeons", "saved")),
+                    GameCatalog.changedFile(root.resolve("dungeons"), Path.of("saved.json")));
+            assertEquals(Optional.empty(), GameCatalog.changedFile(root.resolve("dungeons"), Path.of("saved.json~")));
+
+            // Events are delivered by the file system whenever it gets round to it, so are passed on here instead
+            catalog.watch(root);
+            Files.writeString(root.resolve("dungeons/saved.json"), EXIT_DUNGEON);
+            catalog.apply(Set.of(List.of("dungeons", "saved")), false);
+            assertEquals(List.of("first", "saved", "second"), catalog.dungeonNames());
+            assertEquals(2, catalog.getDungeon("saved").getEntities().size());
+
+            // After an overflow nothing is known about what changed, so everything is loaded again
+            Files.delete(root.resolve("dungeons/first.json"));
+            catalog.apply(Set.of(), true);
+            assertEquals(List.of("saved", "second"), catalog.dungeonNames());
+        } finally {
+            catalog.unwatch();
+            delete(root);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package dungeonmania.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.entities.EntityFactory;
+import dungeonmania.entities.Player;
+import dungeonmania.entities.enemies.ZombieToastSpawner;
+import dungeonmania.util.Position;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class GameSettingsTest {
+    @Test
+    @Tag("48-1")
+    @DisplayName("Test settings are read from the config, with defaults for any it leaves out")
+    public void testSettings() {
+        GameSettings simple = GameCatalog.getInstance().getConfig("simple").getSettings();
+        assertEquals(10, simple.getPlayerHealth());
+        assertEquals(10, simple.getSpiderSpawnInterval());
+        assertEquals(2, simple.getSwordAttack());
+        assertEquals(1, simple.getTreasureGoal());
+
+        GameSettings partial = GameSettings.fromJson(new JSONObject().put("player_attack", 2.5));
+        assertEquals(2.5, partial.getPlayerAttack());
+        assertEquals(Player.DEFAULT_HEALTH, partial.getPlayerHealth());
+        assertEquals(ZombieToastSpawner.DEFAULT_SPAWN_INTERVAL, partial.getZombieSpawnInterval());
+        assertEquals(GameSettings.DEFAULTS.getBombRadius(), partial.getBombRadius());
+
+        EntityFactory factory = new EntityFactory(simple);
+        assertEquals(10, factory.buildZombieToastSpawner(new Position(0, 0)).getSpawnInterval());
+    }
+
+    @Test
+    @Tag("48-2")
+    @DisplayName("Test configs with invalid settings are rejected when they are loaded")
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> GameSettings.fromJson(new JSONObject().put("zombie_spawn_interval", -1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameSettings.fromJson(new JSONObject().put("player_health", 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConfigTemplate("bad", new JSONObject().put("bomb_radius", "far")));
+
+        // Settings the game doesn't use aren't checked
+        GameSettings.fromJson(new JSONObject().put("hydra_health_increase_rate", -1));
+    }
+}
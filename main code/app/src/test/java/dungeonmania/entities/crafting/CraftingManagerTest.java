@@ -0,0 +1,86 @@
+package dungeonmania.entities.crafting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.entities.EntityFactory;
+import dungeonmania.entities.buildables.Shield;
+import dungeonmania.entities.collectables.Treasure;
+import dungeonmania.entities.collectables.Wood;
+import dungeonmania.entities.inventory.Inventory;
+import dungeonmania.util.Position;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class CraftingManagerTest {
+    private static final Position ORIGIN = new Position(0, 0);
+
+    /** A shield needing 1 wood plus either 1 treasure or 2 more wood */
+    private static final String RECIPES = "{\"recipes\": [{\"name\": \"shield\", \"ingredients\": ["
+            + "[{\"type\": \"wood\", \"amount\": 1}],"
+            + "[{\"type\": \"treasure\", \"amount\": 1}, {\"type\": \"wood\", \"amount\": 2}]]}]}";
+
+    @Test
+    @Tag("28-1")
+    @DisplayName("Test the default recipes are loaded from data")
+    public void testDefaultRecipes() {
+        CraftingManager manager = new CraftingManager();
+        Inventory inventory = new Inventory();
+        inventory.add(new Wood(ORIGIN));
+        inventory.add(new Wood(ORIGIN));
+        assertEquals(List.of(), manager.getBuildables(inventory));
+
+        inventory.add(new Treasure(ORIGIN));
+        assertEquals(List.of("shield"), manager.getBuildables(inventory));
+        assertFalse(manager.canCraft("bow", inventory));
+        assertFalse(manager.canCraft("sceptre", inventory));
+    }
+
+    @Test
+    @Tag("28-2")
+    @DisplayName("Test alternatives are tried in the order written and repeated types are combined")
+    public void testAlternatives() {
+        CraftingManager manager = new CraftingManager(new JSONObject(RECIPES));
+        EntityFactory factory = new EntityFactory(new JSONObject());
+
+        // 2 wood is not enough for the all-wood option, which needs 3
+        Inventory inventory = new Inventory();
+        inventory.add(new Wood(ORIGIN));
+        inventory.add(new Wood(ORIGIN));
+        assertFalse(manager.canCraft("shield", inventory));
+
+        // With treasure available the first option is used, leaving 1 wood behind
+        inventory.add(new Wood(ORIGIN));
+        inventory.add(new Treasure(ORIGIN));
+        assertTrue(manager.canCraft("shield", inventory));
+        assertInstanceOf(Shield.class, manager.craft("shield", inventory, factory));
+        assertEquals(2, inventory.count(Wood.class));
+        assertEquals(0, inventory.count(Treasure.class));
+
+        // Without treasure the all-wood option needs a third wood
+        assertEquals(List.of(), manager.getBuildables(inventory));
+        inventory.add(new Wood(ORIGIN));
+        assertEquals(List.of("shield"), manager.getBuildables(inventory));
+        assertInstanceOf(Shield.class, manager.craft("shield", inventory, factory));
+        assertEquals(0, inventory.count(Wood.class));
+    }
+
+    @Test
+    @Tag("28-3")
+    @DisplayName("Test recipes using unknown items are rejected")
+    public void testUnknownIngredient() {
+        JSONObject recipes = new JSONObject(RECIPES.replace("treasure", "sun_stone"));
+        assertThrows(IllegalArgumentException.class, () -> new CraftingManager(recipes));
+    }
+}
@@ -0,0 +1,125 @@
+package dungeonmania.entities.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.entities.Entity;
+import dungeonmania.entities.EntityFactory;
+import dungeonmania.entities.buildables.Bow;
+import dungeonmania.entities.collectables.Arrow;
+import dungeonmania.entities.collectables.Collectable;
+import dungeonmania.entities.collectables.Sword;
+import dungeonmania.entities.collectables.Treasure;
+import dungeonmania.entities.collectables.Useable;
+import dungeonmania.entities.collectables.Wood;
+import dungeonmania.util.Position;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class InventoryTest {
+    private static final Position ORIGIN = new Position(0, 0);
+
+    @Test
+    @Tag("27-1")
+    @DisplayName("Test counts and first-of-type lookups follow pick-up order, including by base type")
+    public void testTypedLookups() {
+        Inventory inventory = new Inventory();
+        Wood wood = new Wood(ORIGIN);
+        Treasure first = new Treasure(ORIGIN);
+        Treasure second = new Treasure(ORIGIN);
+        inventory.add(wood);
+        inventory.add(first);
+        inventory.add(second);
+
+        assertEquals(2, inventory.count(Treasure.class));
+        assertEquals(3, inventory.count(Collectable.class));
+        assertEquals(3, inventory.count(InventoryItem.class));
+        assertSame(first, inventory.getFirst(Treasure.class));
+        assertSame(wood, inventory.getFirst(Collectable.class));
+        assertEquals(List.of(wood, first, second), inventory.getEntities());
+
+        inventory.remove(first);
+        assertEquals(1, inventory.count(Treasure.class));
+        assertSame(second, inventory.getFirst(Treasure.class));
+        assertEquals(List.of(wood, second), inventory.getEntities(Collectable.class));
+        assertNull(inventory.getEntity(first.getId()));
+        assertSame(second, inventory.getEntity(second.getId()));
+    }
+
+    @Test
+    @Tag("27-2")
+    @DisplayName("Test weapons are found by interface and a sword is preferred over a bow")
+    public void testWeapons() {
+        Inventory inventory = new Inventory();
+        assertFalse(inventory.hasWeapon());
+        assertNull(inventory.getWeapon());
+
+        Bow bow = new Bow(1);
+        Sword sword = new Sword(ORIGIN, 1, 1);
+        inventory.add(bow);
+        inventory.add(sword);
+
+        assertTrue(inventory.hasWeapon());
+        assertSame(sword, inventory.getWeapon());
+        assertEquals(List.<Useable>of(bow, sword), inventory.getEntities(Useable.class));
+        assertEquals(2, inventory.getEntities(Entity.class).size());
+
+        inventory.remove(sword);
+        assertSame(bow, inventory.getWeapon());
+    }
+
+    @Test
+    @Tag("29-1")
+    @DisplayName("Test buildables are cached until the inventory changes")
+    public void testBuildablesCache() {
+        Inventory inventory = new Inventory();
+        List<String> empty = inventory.getBuildables();
+        long buildablesVersion = inventory.getBuildablesVersion();
+        assertSame(empty, inventory.getBuildables());
+
+        // A change that doesn't affect what can be built keeps the same list
+        inventory.add(new Wood(ORIGIN));
+        assertEquals(1, inventory.getVersion());
+        assertSame(empty, inventory.getBuildables());
+        assertEquals(buildablesVersion, inventory.getBuildablesVersion());
+
+        inventory.add(new Arrow(ORIGIN));
+        inventory.add(new Arrow(ORIGIN));
+        inventory.add(new Arrow(ORIGIN));
+        assertEquals(List.of("bow"), inventory.getBuildables());
+        assertEquals(buildablesVersion + 1, inventory.getBuildablesVersion());
+    }
+
+    @Test
+    @Tag("29-2")
+    @DisplayName("Test listeners hear about each change to the buildables once, including after crafting")
+    public void testBuildablesListener() {
+        Inventory inventory = new Inventory();
+        List<List<String>> notifications = new ArrayList<>();
+        inventory.registerBuildablesListener(notifications::add);
+
+        inventory.add(new Wood(ORIGIN));
+        inventory.add(new Arrow(ORIGIN));
+        inventory.add(new Arrow(ORIGIN));
+        assertEquals(List.of(), notifications);
+
+        inventory.add(new Arrow(ORIGIN));
+        assertEquals(List.of(List.of("bow")), notifications);
+
+        assertTrue(inventory.build("bow", new EntityFactory(new JSONObject())));
+        assertEquals(List.of(List.of("bow"), List.of()), notifications);
+        assertEquals(1, inventory.count(Bow.class));
+    }
+}
@@ -0,0 +1,159 @@
+package dungeonmania.goals;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.Game;
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.mvp.TestUtils;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.util.Direction;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class GoalTest {
+    /** A goal whose result is set by the test, counting how often it is checked */
+    private static class FakeGoal implements Goal {
+        private boolean achieved;
+        private int checks = 0;
+        private Runnable onChange;
+
+        @Override
+        public void attach(Game game, Runnable onChange) {
+            this.onChange = onChange;
+        }
+
+        public void set(boolean achieved) {
+            this.achieved = achieved;
+            onChange.run();
+        }
+
+        @Override
+        public boolean achieved(Game game) {
+            checks++;
+            return achieved;
+        }
+
+        @Override
+        public String toString(Game game) {
+            return achieved ? "" : ":fake";
+        }
+    }
+
+    @Test
+    @Tag("30-1")
+    @DisplayName("Test composite goals reuse their result until a sub-goal changes")
+    public void testCompositeCaching() {
+        FakeGoal left = new FakeGoal();
+        FakeGoal right = new FakeGoal();
+        OrGoal inner = new OrGoal(left, right);
+        AndGoal goal = new AndGoal(inner, new FakeGoal());
+        int[] changes = {0};
+        goal.attach(null, () -> changes[0]++);
+
+        assertFalse(goal.achieved(null));
+        assertEquals("((:fake OR :fake) AND :fake)", goal.toString(null));
+        assertFalse(goal.achieved(null));
+        assertEquals(1, left.checks);
+
+        right.set(true);
+        assertEquals(1, changes[0]);
+        assertEquals("( AND :fake)", goal.toString(null));
+        assertTrue(inner.achieved(null));
+        assertEquals(2, left.checks);
+        assertEquals(2, right.checks);
+    }
+
+    @Test
+    @Tag("30-2")
+    @DisplayName("Test the boulders goal keeps count when a bomb destroys active and inactive switches")
+    public void testSwitchesDestroyed() throws InvalidActionException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_goalsTest_switchesDestroyedByBomb", "c_bombTest_placeCardinallyActive");
+        assertEquals(":boulders", res.getGoals());
+
+        // Activate one of the two switches, pick up the bomb and place it next to the active switch
+        res = dmc.tick(Direction.RIGHT);
+        assertEquals(":boulders", res.getGoals());
+        res = dmc.tick(Direction.DOWN);
+        res = dmc.tick(Direction.RIGHT);
+        res = dmc.tick(TestUtils.getInventory(res, "bomb").get(0).getId());
+
+        // Both switches are gone so there is nothing left to activate
+        assertEquals(0, TestUtils.getEntities(res, "switch").size());
+        assertEquals("", res.getGoals());
+    }
+
+    @Test
+    @Tag("31-1")
+    @DisplayName("Test AND and OR goals accept any number of sub-goals")
+    public void testNaryGoals() {
+        JSONObject json = new JSONObject("{\"goal\": \"AND\", \"subgoals\": [{\"goal\": \"exit\"}, "
+                + "{\"goal\": \"treasure\"}, {\"goal\": \"OR\", \"subgoals\": [{\"goal\": \"exit\"}, "
+                + "{\"goal\": \"boulders\"}, {\"goal\": \"treasure\"}]}]}");
+        AndGoal goal = assertInstanceOf(AndGoal.class, GoalFactory.createGoal(json, new JSONObject()));
+        assertEquals(3, goal.getSubGoals().size());
+        assertEquals(3, assertInstanceOf(OrGoal.class, goal.getSubGoals().get(2)).getSubGoals().size());
+
+        FakeGoal a = new FakeGoal();
+        FakeGoal b = new FakeGoal();
+        FakeGoal c = new FakeGoal();
+        OrGoal or = new OrGoal(List.of(a, b, c));
+        or.attach(null, () -> {
+        });
+        assertEquals("(:fake OR :fake OR :fake)", or.toString(null));
+        c.set(true);
+        assertTrue(or.achieved(null));
+        assertEquals("", or.toString(null));
+
+        assertThrows(IllegalArgumentException.class, () -> new AndGoal(List.of(a)));
+    }
+
+    @Test
+    @Tag("31-2")
+    @DisplayName("Test sub-goals likely to decide the result are checked first, then the cheapest")
+    public void testCheckOrder() {
+        FakeGoal a = new FakeGoal();
+        FakeGoal b = new FakeGoal();
+        FakeGoal c = new FakeGoal();
+        AndGoal goal = new AndGoal(List.of(a, b, c));
+        goal.attach(null, () -> {
+        });
+
+        // Every sub-goal is unachieved, so the first one listed decides the result
+        assertFalse(goal.achieved(null));
+        assertEquals(List.of(1, 0, 0), List.of(a.checks, b.checks, c.checks));
+
+        // Once a sub-goal is achieved, the ones which are not are checked ahead of it
+        a.set(true);
+        assertFalse(goal.achieved(null));
+        b.set(true);
+        assertFalse(goal.achieved(null));
+        assertEquals(List.of(2, 2, 1), List.of(a.checks, b.checks, c.checks));
+        a.set(false);
+        assertFalse(goal.achieved(null));
+        assertEquals(List.of(2, 2, 2), List.of(a.checks, b.checks, c.checks));
+
+        // A single goal is checked before a composite of several
+        FakeGoal x = new FakeGoal();
+        FakeGoal y = new FakeGoal();
+        FakeGoal z = new FakeGoal();
+        AndGoal nested = new AndGoal(new OrGoal(x, y), z);
+        nested.attach(null, () -> {
+        });
+        assertFalse(nested.achieved(null));
+        assertEquals(List.of(0, 0, 1), List.of(x.checks, y.checks, z.checks));
+    }
+}
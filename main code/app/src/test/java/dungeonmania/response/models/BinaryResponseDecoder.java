@@ -0,0 +1,108 @@
+package dungeonmania.response.models;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import dungeonmania.util.Position;
+
+/**
+ * Decodes the frames written by a `BinaryResponseEncoder` back into `DungeonResponse`s. Like the encoder, one decoder
+ * follows one game, and must be given that game's frames in order from a keyframe.
+ */
+public class BinaryResponseDecoder {
+    private final List<String> types = new ArrayList<>();
+    private final List<String> ids = new ArrayList<>();
+    private String dungeonId;
+    private String dungeonName;
+    private int epoch;
+    private ByteBuffer in;
+
+    public DungeonResponse decode(byte[] frame) {
+        in = ByteBuffer.wrap(frame);
+        if ((in.get() & 0xFF) != BinaryResponseEncoder.MAGIC || in.get() != BinaryResponseEncoder.VERSION)
+            throw new IllegalArgumentException("Not a binary dungeon response");
+        int flags = in.get();
+        int frameEpoch = varint();
+        if ((flags & BinaryResponseEncoder.HEADER) != 0) {
+            types.clear();
+            ids.clear();
+            epoch = frameEpoch;
+            dungeonId = string();
+            dungeonName = string();
+        } else if (dungeonId == null) {
+            throw new IllegalStateException("The first frame of the game is missing");
+        } else if (frameEpoch != epoch) {
+            throw new IllegalStateException(String.format("Frame is from epoch %d, not %d", frameEpoch, epoch));
+        }
+        types.addAll(list(this::string));
+        ids.addAll(list(this::string));
+
+        List<EntityResponse> entities = list(() -> {
+            String id = ids.get(varint());
+            int typeAndInteractable = varint();
+            int x = zigzag();
+            int y = zigzag();
+            return new EntityResponse(id, types.get(typeAndInteractable >>> 1), new Position(x, y, varint()),
+                    (typeAndInteractable & 1) != 0);
+        });
+        List<ItemResponse> inventory = list(this::item);
+        List<BattleResponse> battles = list(() -> {
+            String enemy = types.get(varint());
+            double initialPlayerHealth = in.getDouble();
+            double initialEnemyHealth = in.getDouble();
+            List<ItemResponse> items = list(this::item);
+            List<RoundResponse> rounds = list(() -> new RoundResponse(in.getDouble(), in.getDouble()));
+            return new BattleResponse(enemy, rounds, items, initialPlayerHealth, initialEnemyHealth);
+        });
+        List<String> buildables = list(() -> types.get(varint()));
+        String goals = string();
+        List<AnimationQueue> animations = list(() -> new AnimationQueue(string(), string(), list(this::string),
+                in.get() != 0, in.getDouble()));
+        if (in.hasRemaining())
+            throw new IllegalArgumentException("Unexpected bytes at the end of the frame");
+        return new DungeonResponse(dungeonId, dungeonName, entities, inventory, battles, buildables, goals,
+                animations);
+    }
+
+    private ItemResponse item() {
+        String id = ids.get(varint());
+        return new ItemResponse(id, types.get(varint()));
+    }
+
+    private int varint() {
+        int value = 0;
+        for (int shift = 0;; shift += 7) {
+            int b = in.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+    }
+
+    private int zigzag() {
+        int value = varint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private String string() {
+        int length = varint() - 1;
+        if (length < 0)
+            return null;
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private <T> List<T> list(Supplier<T> element) {
+        int size = varint() - 1;
+        if (size < 0)
+            return null;
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            list.add(element.get());
+        return list;
+    }
+}
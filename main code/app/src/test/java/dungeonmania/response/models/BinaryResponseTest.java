@@ -0,0 +1,103 @@
+package dungeonmania.response.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.google.gson.Gson;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.Game;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class BinaryResponseTest {
+    private static final Gson GSON = new Gson();
+
+    private static void assertRoundTrip(BinaryResponseEncoder encoder, BinaryResponseDecoder decoder,
+            DungeonResponse response) {
+        assertEquals(GSON.toJson(response), GSON.toJson(decoder.decode(encoder.encode(response))));
+    }
+
+    @Test
+    @Tag("39-1")
+    @DisplayName("Test binary frames decode to the responses they were encoded from")
+    public void testRoundTrip() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_battleTest_basicMercenary", "c_battleTest_basicMercenaryMercenaryDies");
+        BinaryResponseEncoder encoder = new BinaryResponseEncoder();
+        BinaryResponseDecoder decoder = new BinaryResponseDecoder();
+        assertRoundTrip(encoder, decoder, ResponseBuilder.getDungeonResponse(game));
+
+        // Battles, and an entity removed since the previous frame
+        dmc.applyTick(Direction.RIGHT);
+        assertRoundTrip(encoder, decoder, ResponseBuilder.getDungeonResponse(game));
+
+        // Negative coordinates, animations and nulls, each as the first frame of a new game
+        assertRoundTrip(new BinaryResponseEncoder(), new BinaryResponseDecoder(),
+                SerializationBenchmark.sampleResponse(200, 3));
+        assertRoundTrip(new BinaryResponseEncoder(), new BinaryResponseDecoder(), new DungeonResponse("d", "n",
+                List.of(new EntityResponse("e", "wall", new Position(-70, -3, 0), false)), null, List.of(), null, ""));
+    }
+
+    @Test
+    @Tag("39-2")
+    @DisplayName("Test type names and entity IDs are only sent the first time they are used")
+    public void testDictionary() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_complexGoalsTest_andAll", "c_complexGoalsTest_andAll");
+        BinaryResponseEncoder encoder = new BinaryResponseEncoder();
+        DungeonResponse response = ResponseBuilder.getDungeonResponse(game);
+        byte[] first = encoder.encode(response);
+        byte[] second = encoder.encode(response);
+
+        // The second frame holds 4 header bytes, the empty dictionary additions, the goals, and about 5 bytes for each
+        // of the 6 entities
+        assertTrue(second.length < first.length / 2);
+        assertTrue(second.length < GSON.toJson(response).length() / 5);
+
+        // A decoder which missed the first frame can't make sense of the rest
+        assertThrows(IllegalStateException.class, () -> new BinaryResponseDecoder().decode(second));
+    }
+
+    @Test
+    @Tag("39-3")
+    @DisplayName("Test a keyframe starts a new dictionary, which a new decoder can pick up from")
+    public void testKeyframe() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_battleTest_basicMercenary", "c_battleTest_basicMercenaryMercenaryDies");
+        BinaryResponseDecoder decoder = new BinaryResponseDecoder();
+        decoder.decode(dmc.encodeBinary(null));
+        byte[] stale = dmc.encodeBinary(null);
+        assertEquals(0, stale[2] & BinaryResponseEncoder.HEADER);
+
+        // A client which lost track of the dictionary asks for a keyframe, and carries on from there
+        dmc.requestBinaryKeyframe();
+        byte[] keyframe = dmc.encodeBinary(null);
+        assertEquals(BinaryResponseEncoder.HEADER, keyframe[2] & BinaryResponseEncoder.HEADER);
+        BinaryResponseDecoder resynced = new BinaryResponseDecoder();
+        resynced.decode(keyframe);
+        dmc.applyTick(Direction.RIGHT);
+        assertEquals(GSON.toJson(ResponseBuilder.getDungeonResponse(game)),
+                GSON.toJson(resynced.decode(dmc.encodeBinary(null))));
+
+        // Frames from before the keyframe refer to the old dictionary, so are refused rather than misread
+        assertThrows(IllegalStateException.class, () -> resynced.decode(stale));
+
+        // A new game starts a new epoch too
+        decoder.decode(keyframe);
+        dmc.startGame("d_complexGoalsTest_andAll", "c_complexGoalsTest_andAll");
+        byte[] newGame = dmc.encodeBinary(null);
+        assertEquals(BinaryResponseEncoder.HEADER, newGame[2] & BinaryResponseEncoder.HEADER);
+        assertEquals("d_complexGoalsTest_andAll", decoder.decode(newGame).getDungeonName());
+    }
+}
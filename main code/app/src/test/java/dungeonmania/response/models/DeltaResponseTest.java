@@ -0,0 +1,78 @@
+package dungeonmania.response.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.util.Direction;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class DeltaResponseTest {
+    private static List<String> types(List<EntityResponse> entities) {
+        return entities.stream().map(EntityResponse::getType).sorted().toList();
+    }
+
+    @Test
+    @Tag("32-1")
+    @DisplayName("Test delta responses report moved, removed and changed entities only")
+    public void testDeltas() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse full = dmc.newGame("d_DoorsKeysTest_useKeyWalkThroughOpenDoor",
+                "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        String keyId = full.getEntities().stream().filter(e -> e.getType().equals("key")).findFirst().get().getId();
+
+        // The first delta is a keyframe of the whole map
+        DeltaResponse delta = dmc.keyframe();
+        assertTrue(delta.isKeyframe());
+        assertEquals(types(full.getEntities()), types(delta.getAdded()));
+
+        // Picking up the key moves the player and removes the key
+        delta = dmc.tickDelta(Direction.RIGHT);
+        assertFalse(delta.isKeyframe());
+        assertEquals(List.of(), delta.getAdded());
+        assertEquals(List.of("player"), types(delta.getUpdated()));
+        assertEquals(List.of(keyId), delta.getRemoved());
+        assertEquals(1, delta.getInventory().size());
+
+        // Walking through the door opens it
+        delta = dmc.tickDelta(Direction.RIGHT);
+        assertEquals(List.of("door_open", "player"), types(delta.getUpdated()));
+        assertEquals(List.of(), delta.getRemoved());
+        assertEquals(0, delta.getInventory().size());
+
+        // Nothing changes when walking into open space, including the inventory
+        delta = dmc.tickDelta(Direction.UP);
+        delta = dmc.tickDelta(Direction.DOWN);
+        assertEquals(List.of("player"), types(delta.getUpdated()));
+        assertNull(delta.getInventory());
+        assertNull(delta.getBuildables());
+    }
+
+    @Test
+    @Tag("32-2")
+    @DisplayName("Test a keyframe is sent periodically")
+    public void testPeriodicKeyframes() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_DoorsKeysTest_useKeyWalkThroughOpenDoor", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+
+        int keyframes = 0;
+        for (int i = 0; i < 2 * DeltaTracker.DEFAULT_KEYFRAME_INTERVAL; i++) {
+            DeltaResponse delta = dmc.tickDelta(i % 2 == 0 ? Direction.UP : Direction.DOWN);
+            if (delta.isKeyframe()) {
+                keyframes++;
+                assertEquals(4, delta.getAdded().size());
+            }
+        }
+        assertEquals(2, keyframes);
+    }
+}
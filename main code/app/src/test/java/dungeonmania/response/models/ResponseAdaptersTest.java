@@ -0,0 +1,93 @@
+package dungeonmania.response.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.Game;
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.util.Direction;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class ResponseAdaptersTest {
+    private static final Gson REFLECTIVE = new Gson();
+    private static final Gson HAND_WRITTEN = ResponseAdapters.register(new GsonBuilder()).create();
+
+    private static void assertSameJson(Object response) {
+        assertEquals(REFLECTIVE.toJson(response), HAND_WRITTEN.toJson(response));
+    }
+
+    @Test
+    @Tag("34-1")
+    @DisplayName("Test the hand-written adapters write the same JSON as the reflective adapters")
+    public void testMatchesReflective() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_battleTest_basicMercenary", "c_battleTest_basicMercenaryMercenaryDies");
+        DeltaTracker tracker = new DeltaTracker(game);
+        assertSameJson(GenericResponseWrapper.ok(ResponseBuilder.getDungeonResponse(game)));
+        assertSameJson(GenericResponseWrapper.ok(tracker.next()));
+
+        // Fight the mercenary, so there are battles, rounds and removed entities
+        dmc.applyTick(Direction.RIGHT);
+        assertSameJson(GenericResponseWrapper.ok(ResponseBuilder.getDungeonResponse(game)));
+        assertSameJson(GenericResponseWrapper.ok(tracker.next()));
+
+        // Responses that aren't dungeons, and errors
+        assertSameJson(GenericResponseWrapper.ok(List.of("a", "b")));
+        assertSameJson(GenericResponseWrapper.ok("skin"));
+        assertSameJson(GenericResponseWrapper.err(new InvalidActionException("Nothing to build")));
+        assertSameJson(GenericResponseWrapper.err(new IllegalArgumentException()));
+        assertSameJson(SerializationBenchmark.sampleResponse(50, 3));
+    }
+
+    @Test
+    @Tag("34-2")
+    @DisplayName("Test responses read back through the hand-written adapters are unchanged")
+    public void testRoundTrip() {
+        DungeonResponse response = SerializationBenchmark.sampleResponse(50, 3);
+        String json = HAND_WRITTEN.toJson(response);
+        assertEquals(json, HAND_WRITTEN.toJson(HAND_WRITTEN.fromJson(json, DungeonResponse.class)));
+
+        DeltaResponse delta = new DeltaResponse("d", "n", 3, false, List.of(), response.getEntities(),
+                List.of("gone"), null, List.of(), null, ":exit");
+        json = HAND_WRITTEN.toJson(delta);
+        assertEquals(json, HAND_WRITTEN.toJson(HAND_WRITTEN.fromJson(json, DeltaResponse.class)));
+
+        // Wrappers, including errors, which have no result
+        Type wrapperType = new TypeToken<GenericResponseWrapper<DungeonResponse>>() { }.getType();
+        json = HAND_WRITTEN.toJson(GenericResponseWrapper.ok(response));
+        GenericResponseWrapper<DungeonResponse> wrapper = HAND_WRITTEN.fromJson(json, wrapperType);
+        assertEquals(json, HAND_WRITTEN.toJson(wrapper));
+        assertEquals("dungeon0", wrapper.getResult().getDungeonId());
+
+        json = HAND_WRITTEN.toJson(GenericResponseWrapper.err(new InvalidActionException("Nothing to build")));
+        wrapper = HAND_WRITTEN.fromJson(json, wrapperType);
+        assertTrue(wrapper.isError());
+        assertEquals("InvalidActionException", wrapper.getErrorTitle());
+        assertEquals("Nothing to build", wrapper.getErrorMessage());
+    }
+
+    @Test
+    @Tag("34-3")
+    @DisplayName("Test the serialisation benchmark measures both adapters")
+    public void testBenchmark() {
+        List<SerializationBenchmark.Result> results = new SerializationBenchmark().setWarmup(5).setIterations(5)
+                .run(SerializationBenchmark.sampleResponse(100, 2));
+        assertEquals(List.of("reflective", "hand-written"), results.stream().map(SerializationBenchmark.Result::getName)
+                .toList());
+        assertTrue(results.stream().allMatch(result -> result.getResponsesPerSecond() > 0));
+    }
+}
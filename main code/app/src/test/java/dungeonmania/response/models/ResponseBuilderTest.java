@@ -0,0 +1,150 @@
+package dungeonmania.response.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.Game;
+import dungeonmania.entities.Entity;
+import dungeonmania.entities.Interactable;
+import dungeonmania.entities.Player;
+import dungeonmania.map.GameMap;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
+import dungeonmania.util.Viewport;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class ResponseBuilderTest {
+    /** Always interactable, and counts how often it is asked */
+    private static class CountingInteractable extends Entity implements Interactable {
+        private int checks = 0;
+
+        CountingInteractable(Position position) {
+            super(position);
+        }
+
+        @Override
+        public void interact(Player player, Game game) {
+        }
+
+        @Override
+        public boolean isInteractable(Player player) {
+            checks++;
+            return true;
+        }
+
+        @Override
+        public int getInteractionRadius() {
+            return 2;
+        }
+
+        @Override
+        public void onOverlap(GameMap map, Entity entity) {
+        }
+
+        @Override
+        public void onMovedAway(GameMap map, Entity entity) {
+        }
+
+        @Override
+        public void onDestroy(GameMap map) {
+        }
+    }
+
+    private static Map<String, EntityResponse> byType(Game game) {
+        List<EntityResponse> entities = ResponseBuilder.getDungeonResponse(game).getEntities();
+        return entities.stream().collect(Collectors.toMap(EntityResponse::getType, Function.identity(), (a, b) -> a));
+    }
+
+    @Test
+    @Tag("36-1")
+    @DisplayName("Test entity responses are reused until the entity moves or changes appearance")
+    public void testCachedEntityResponses() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_DoorsKeysTest_useKeyWalkThroughOpenDoor",
+                "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        Map<String, EntityResponse> initial = byType(game);
+        assertSame(initial.get("player"), byType(game).get("player"));
+        assertSame(initial.get("door"), byType(game).get("door"));
+
+        // Picking up the key moves the player but leaves the door alone
+        dmc.applyTick(Direction.RIGHT);
+        Map<String, EntityResponse> afterKey = byType(game);
+        assertNotSame(initial.get("player"), afterKey.get("player"));
+        assertSame(initial.get("door"), afterKey.get("door"));
+
+        // Walking through the door opens it, so its response is rebuilt with the new type
+        dmc.applyTick(Direction.RIGHT);
+        Map<String, EntityResponse> afterDoor = byType(game);
+        assertNull(afterDoor.get("door"));
+        assertEquals(initial.get("door").getId(), afterDoor.get("door_open").getId());
+        assertEquals(initial.get("door").getPosition(), afterDoor.get("door_open").getPosition());
+    }
+
+    @Test
+    @Tag("37-1")
+    @DisplayName("Test only interactable entities near the player are asked whether they are interactable")
+    public void testInteractionRadius() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_DoorsKeysTest_useKeyWalkThroughOpenDoor",
+                "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        GameMap map = game.getMap();
+        Position player = game.getPlayer().getPosition();
+        CountingInteractable near = new CountingInteractable(Position.translateBy(player, new Position(1, -1)));
+        CountingInteractable far = new CountingInteractable(Position.translateBy(player, new Position(2, 1)));
+        map.addEntity(near);
+        map.addEntity(far);
+        assertEquals(2, map.getInteractionRadius());
+        assertEquals(List.of(near), map.getEntitiesWithin(player, 2).stream()
+                .filter(CountingInteractable.class::isInstance).toList());
+
+        Map<String, EntityResponse> responses = ResponseBuilder.getDungeonResponse(game).getEntities().stream()
+                .collect(Collectors.toMap(EntityResponse::getId, Function.identity()));
+        assertTrue(responses.get(near.getId()).isInteractable());
+        assertFalse(responses.get(far.getId()).isInteractable());
+        assertEquals(1, near.checks);
+        assertEquals(0, far.checks);
+    }
+
+    @Test
+    @Tag("38-1")
+    @DisplayName("Test viewport responses hold the entities inside the viewport, the player, exits and switches")
+    public void testViewport() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_complexGoalsTest_andAll", "c_complexGoalsTest_andAll");
+        assertEquals(6, ResponseBuilder.getDungeonResponse(game).getEntities().size());
+
+        // Only the player is inside the viewport
+        Viewport viewport = Viewport.parse("0,0,2,2");
+        assertEquals(Set.of("player", "switch", "exit"), ResponseBuilder.getDungeonResponse(game, viewport)
+                .getEntities().stream().map(EntityResponse::getType).collect(Collectors.toSet()));
+
+        // A viewport larger than the map holds everything
+        assertEquals(6, ResponseBuilder.getDungeonResponse(game, new Viewport(-50, -50, 100, 100)).getEntities()
+                .size());
+        // Even one whose far edge lies beyond the largest int
+        Viewport huge = Viewport.parse("10,10," + Integer.MAX_VALUE + "," + Integer.MAX_VALUE);
+        assertTrue(huge.contains(new Position(20, 20)));
+        assertTrue(huge.contains(new Position(Integer.MAX_VALUE, Integer.MAX_VALUE)));
+        assertFalse(huge.contains(new Position(9, 20)));
+        assertThrows(IllegalArgumentException.class, () -> Viewport.parse("0,0,2"));
+        assertThrows(IllegalArgumentException.class, () -> Viewport.parse("0,0,0,2"));
+    }
+}
@@ -0,0 +1,66 @@
+package dungeonmania.response.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.google.gson.Gson;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.Game;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Viewport;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class ResponseWriterTest {
+    private static String stream(Game game) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResponseWriter.writeDungeonResponse(game, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String gson(Game game) {
+        return new Gson().toJson(GenericResponseWrapper.ok(ResponseBuilder.getDungeonResponse(game)));
+    }
+
+    @Test
+    @Tag("33-1")
+    @DisplayName("Test the streamed response matches the Gson serialised response, including battles and items")
+    public void testMatchesGson() throws IOException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_battleTest_basicMercenary", "c_battleTest_basicMercenaryMercenaryDies");
+        assertEquals(gson(game), stream(game));
+
+        // Fight the mercenary
+        dmc.applyTick(Direction.RIGHT);
+        assertEquals(1, game.getBattleFacade().getBattleResponses().size());
+        assertEquals(gson(game), stream(game));
+
+        game = dmc.startGame("d_DoorsKeysTest_useKeyWalkThroughOpenDoor", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        dmc.applyTick(Direction.RIGHT);
+        assertEquals(gson(game), stream(game));
+        dmc.applyTick(Direction.RIGHT);
+        assertEquals(gson(game), stream(game));
+    }
+
+    @Test
+    @Tag("38-2")
+    @DisplayName("Test the streamed response through a viewport matches the built response")
+    public void testViewportMatchesGson() throws IOException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        Game game = dmc.startGame("d_complexGoalsTest_andAll", "c_complexGoalsTest_andAll");
+        Viewport viewport = new Viewport(0, 0, 3, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResponseWriter.writeDungeonResponse(game, viewport, out);
+        assertEquals(new Gson().toJson(GenericResponseWrapper.ok(ResponseBuilder.getDungeonResponse(game, viewport))),
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,31 @@
+package dungeonmania.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class FileLoaderTest {
+    @Test
+    @Tag("46-1")
+    @DisplayName("Test resource directories are listed from the main and test resource indexes")
+    public void testListFromIndex() {
+        List<String> dungeons = FileLoader.listFileNamesInResourceDirectory("/dungeons");
+        assertEquals(dungeons, FileLoader.listFileNamesInResourceDirectory("dungeons"));
+
+        // One from the main resources, one from the test resources
+        assertTrue(dungeons.contains("maze"));
+        assertTrue(dungeons.contains("d_movementTest_testMovementDown"));
+        assertTrue(dungeons.stream().noneMatch(name -> name.contains("/") || name.endsWith(".json")));
+
+        assertTrue(FileLoader.listFileNamesInResourceDirectory("configs").contains("simple"));
+        assertTrue(FileLoader.listFileNamesInResourceDirectory("no_such_directory").isEmpty());
+    }
+}
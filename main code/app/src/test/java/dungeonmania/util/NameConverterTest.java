@@ -0,0 +1,48 @@
+package dungeonmania.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import dungeonmania.entities.ColorCodedType;
+import dungeonmania.entities.Door;
+import dungeonmania.entities.Entity;
+import dungeonmania.entities.Portal;
+import dungeonmania.entities.Wall;
+import dungeonmania.entities.collectables.potions.InvisibilityPotion;
+import dungeonmania.entities.logical.LightBulb;
+import dungeonmania.entities.logical.LogicRule;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class NameConverterTest {
+    private static final Position ORIGIN = new Position(0, 0);
+
+    @Test
+    @Tag("35-1")
+    @DisplayName("Test entity type names, including state dependent names")
+    public void testEntityNames() {
+        assertEquals("wall", NameConverter.toSnakeCase(new Wall(ORIGIN)));
+        assertEquals("invisibility_potion", NameConverter.toSnakeCase(new InvisibilityPotion(ORIGIN, 1)));
+        assertEquals("portal_red", NameConverter.toSnakeCase(new Portal(ORIGIN, ColorCodedType.RED)));
+        assertEquals("portal_grey", NameConverter.toSnakeCase(new Portal(ORIGIN, ColorCodedType.GREY)));
+        assertEquals("door", NameConverter.toSnakeCase(new Door(ORIGIN, 1)));
+        assertEquals("light_bulb_off", NameConverter.toSnakeCase(new LightBulb(ORIGIN, LogicRule.OR)));
+    }
+
+    @Test
+    @Tag("35-2")
+    @DisplayName("Test entity type names are looked up rather than rebuilt")
+    public void testNamesAreShared() {
+        Entity first = new Wall(ORIGIN);
+        Entity second = new Wall(new Position(1, 1));
+        assertSame(NameConverter.toSnakeCase(first), NameConverter.toSnakeCase(second));
+        assertSame(NameConverter.toSnakeCase(new Portal(ORIGIN, ColorCodedType.BLUE)),
+                NameConverter.toSnakeCase(new Portal(ORIGIN, ColorCodedType.BLUE)));
+    }
+}